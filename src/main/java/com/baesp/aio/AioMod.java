@@ -11,6 +11,7 @@ import com.baesp.aio.rpg.economy.EconomyManager;
 import com.baesp.aio.rpg.economy.ShopManager;
 import com.baesp.aio.sleepwarp.SleepWarpManager;
 import com.baesp.aio.squat.SquatGrowManager;
+import com.baesp.aio.util.CropIndex;
 import com.baesp.aio.villagespawn.VillageSpawnManager;
 import com.baesp.aio.warp.WarpManager;
 import com.baesp.aio.warp.HomeManager;
@@ -65,6 +66,7 @@ public class AioMod implements ModInitializer {
         PetNamesManager.register();
         DespawningEggsManager.register();
         FastLeafDecayManager.register();
+        CropIndex.register();
         WarpManager.init();
         HomeManager.init();
         
@@ -78,7 +80,7 @@ public class AioMod implements ModInitializer {
         });
         
         ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
-            WarpManager.onServerStop();
+            WarpManager.onServerStop(server);
             PlayerDataManager.saveAllPlayers();
             LOGGER.info("AIO Mod: All player data saved.");
         });
@@ -96,6 +98,10 @@ public class AioMod implements ModInitializer {
         });
         
         ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            // Pay out pending void magnet value and vein jobs before the data is written
+            VoidMagnetManager.onPlayerDisconnect(handler.getPlayer());
+            VeinMiningManager.onPlayerDisconnect(handler.getPlayer());
+            SquatGrowManager.onPlayerDisconnect(handler.getPlayer());
             PlayerDataManager.savePlayer(handler.getPlayer());
             // Clean up sleep sooner tracking
             SleepSoonerManager.onPlayerDisconnect(handler.getPlayer().getUUID());
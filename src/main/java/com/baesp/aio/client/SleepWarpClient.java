@@ -0,0 +1,28 @@
+package com.baesp.aio.client;
+
+/**
+ * Client side of the sleep warp: advances the sky at the rate announced by the
+ * server instead of receiving the day time every tick.
+ */
+public class SleepWarpClient {
+    
+    private static float warpRate = 0;
+    private static double pendingTicks = 0;
+    
+    public static void setWarpRate(float rate) {
+        warpRate = Math.max(0, rate);
+        pendingTicks = 0;
+    }
+    
+    /**
+     * Extra day ticks to add this tick (whole ticks, the fraction carries over)
+     */
+    public static long nextExtraTicks() {
+        if (warpRate <= 0) return 0;
+        
+        pendingTicks += warpRate;
+        long whole = (long) pendingTicks;
+        pendingTicks -= whole;
+        return whole;
+    }
+}
@@ -69,9 +69,21 @@ public class AioCommands {
                     ctx.getSource().sendSuccess(() -> Component.literal("§e/balance §7- Check your balance"), false);
                     ctx.getSource().sendSuccess(() -> Component.literal("§e/pay <player> <amount> §7- Pay another player"), false);
                     ctx.getSource().sendSuccess(() -> Component.literal("§e/squatgrow §7- Toggle squat grow"), false);
+                    ctx.getSource().sendSuccess(() -> Component.literal("§e/aio cancel §7- Stop vein mining / tree felling in progress"), false);
                     return 1;
                 })
             )
+            .then(Commands.literal("cancel")
+                .executes(ctx -> {
+                    ServerPlayer player = ctx.getSource().getPlayerOrException();
+                    int cancelled = com.baesp.aio.features.VeinMiningManager.cancelJobs(player);
+                    if (cancelled == 0) {
+                        ctx.getSource().sendFailure(Component.literal("§cNothing to cancel."));
+                        return 0;
+                    }
+                    return cancelled;
+                })
+            )
             .then(Commands.literal("reload")
                 .requires(AioCommands::hasOp)
                 .executes(ctx -> {
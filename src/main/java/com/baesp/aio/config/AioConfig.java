@@ -37,10 +37,12 @@ public class AioConfig {
     public int blastFurnaceCookTime = 1;
     public int smokerCookTime = 1;
     public int campfireCookTime = 1;
+    public int furnaceBatchSize = 8; // Recipes a furnace may finish per tick (1 = one at a time)
     
     // === 1-TICK HOPPERS CONFIG ===
     public boolean fastHoppersEnabled = true;
     public int hopperCooldown = 1; // 1 tick (vanilla is 8)
+    public int hopperItemsPerTransfer = 8; // Items moved per transfer (vanilla is 1)
     
     // === VILLAGE SPAWN POINT CONFIG ===
     public boolean villageSpawnEnabled = true;
@@ -54,6 +56,8 @@ public class AioConfig {
     public int squatGrowRange = 3;
     public float squatGrowChance = 0.5f;
     public int squatGrowMultiplier = 4;
+    public int squatGrowOpsPerSecond = 40;  // Crops one player can grow per second (refilling budget)
+    public int squatGrowOpsPerTick = 32;    // Queued crop growths applied per tick for all players
     public boolean requireHoeForSquatGrow = false;
     
     // === FARMING FEATURES CONFIG ===
@@ -62,6 +66,16 @@ public class AioConfig {
     public int rightClickHarvestSoulXp = 2;  // Soul XP per harvest
     public long rightClickHarvestMoney = 1;  // Money per harvest
     
+    // === VEIN MINING CONFIG ===
+    public int veinMiningMaxVeinSize = 64;        // Max ores per vein
+    public int veinMiningMaxTreeSize = 128;       // Max logs per tree (raise into the thousands for huge trees)
+    public int veinMiningBlocksPerTick = 32;      // Blocks broken per player per tick
+    public int veinMiningTickBudgetMicros = 2000; // Time spent per player per tick
+    public boolean veinMiningCollectDrops = true; // Merge drops into the inventory instead of spawning them
+    public boolean veinMiningAsyncDiscovery = false; // Find veins off-thread on a section snapshot (for huge limits)
+    public int veinMiningSnapshotRadius = 2;      // Chunk sections copied around the start block in async mode
+    public boolean veinMiningBatchUpdates = true; // Remove each slice as one batch (fewer neighbour updates and packets)
+    
     // === DEATH SAFETY CONFIG ===
     public boolean deathSafetyEnabled = false;  // Keep inventory on death (disabled by default)
     public float deathXpKeepPercent = 0.5f;    // Keep 50% of XP on death
@@ -69,8 +83,10 @@ public class AioConfig {
     // === SLEEP WARP CONFIG ===
     public boolean sleepWarpEnabled = true;
     public int sleepWarpMaxTicksAdded = 40;
+    public int sleepWarpTickBudgetPercent = 90;   // Warp only while the server tick stays under this % of the tick length (50ms)
     public double sleepWarpPlayerMultiplier = 0.6;
     public boolean sleepWarpTickBlockEntities = true;
+    public String sleepWarpBlockEntityMode = "fast_forward"; // "tick" = every block entity each warp step, "fast_forward" = furnaces/campfires/brewing stands catch up at once
     public boolean sleepWarpTickRandomBlocks = true;
     public boolean sleepWarpTickSnow = true;
     public boolean sleepWarpTickIce = true;
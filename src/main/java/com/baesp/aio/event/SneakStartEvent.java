@@ -0,0 +1,24 @@
+package com.baesp.aio.event;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.minecraft.server.level.ServerPlayer;
+
+/**
+ * Fired on the server thread when a player starts holding sneak.
+ * 
+ * Published from the handling of the player input packet, so it costs nothing
+ * for players who are not pressing shift. The player's shift state is already
+ * updated when listeners run.
+ */
+@FunctionalInterface
+public interface SneakStartEvent {
+    
+    Event<SneakStartEvent> EVENT = EventFactory.createArrayBacked(SneakStartEvent.class, listeners -> player -> {
+        for (SneakStartEvent listener : listeners) {
+            listener.onSneakStart(player);
+        }
+    });
+    
+    void onSneakStart(ServerPlayer player);
+}
@@ -1,6 +1,15 @@
 package com.baesp.aio.features;
 
 import com.baesp.aio.AioMod;
+import com.baesp.aio.util.BlockFloodFill;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectRBTreeMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.player.PlayerBlockBreakEvents;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
@@ -8,19 +17,31 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.block.LeavesBlock;
 import net.minecraft.world.level.block.state.BlockState;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Fast Leaf Decay System
  * 
  * When a log is broken, nearby leaves will decay much faster than vanilla.
  * This makes tree farming much more convenient.
+ * 
+ * Leaves are found once per felled tree: a flood from the removed logs walks
+ * outward through natural leaves along increasing DISTANCE, so only that tree's
+ * canopy is visited. Found leaves go into a per-level queue (each position once),
+ * staggered outward from the logs, and at most LEAVES_PER_TICK are decayed per tick.
  */
 public class FastLeafDecayManager {
     
-    private static final int DECAY_RANGE = 6;  // Range to check for leaves
-    private static final int DECAY_DELAY = 2;  // Ticks between decay checks
+    private static final int DECAY_DELAY = 2;       // Ticks before the first leaf decays
+    private static final int START_JITTER = 3;      // Random extra ticks before a tree starts decaying
+    private static final int LEAVES_PER_TICK = 64;  // Queue entries handled per level per tick
+    private static final int MAX_ATTEMPTS = 4;      // Re-checks while DISTANCE is still propagating
+    
+    // Section-cached block reader for the leaf flood, reused across calls
+    private static final BlockFloodFill READER = new BlockFloodFill();
+    
+    private static final Map<ServerLevel, DecayQueue> QUEUES = new HashMap<>();
     
     public static void register() {
         // When a log is broken, schedule nearby leaves for fast decay
@@ -34,40 +55,142 @@ public class FastLeafDecayManager {
             if (blockName.contains("log") || blockName.contains("stem") || 
                 blockName.contains("wood") || blockName.contains("hyphae")) {
                 // Schedule fast leaf decay for nearby leaves
-                scheduleLeafDecay(level, pos);
+                scheduleLeafDecay(level, LongList.of(pos.asLong()));
             }
         });
         
+        ServerTickEvents.END_WORLD_TICK.register(FastLeafDecayManager::onWorldTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> QUEUES.clear());
+        
         AioMod.LOGGER.info("Fast Leaf Decay Manager registered.");
     }
     
-    private static void scheduleLeafDecay(ServerLevel level, BlockPos logPos) {
-        // Find all leaves in range and schedule them for decay
-        List<BlockPos> leavesToDecay = new ArrayList<>();
+    /**
+     * Queue the leaves of a tree whose logs were removed (one pass for the whole tree)
+     */
+    public static void scheduleLeafDecay(ServerLevel level, LongList removedLogs) {
+        DecayQueue queue = QUEUES.computeIfAbsent(level, l -> new DecayQueue());
+        long start = level.getGameTime() + DECAY_DELAY + level.random.nextInt(START_JITTER);
+        
+        LongArrayFIFOQueue frontier = new LongArrayFIFOQueue();
+        LongOpenHashSet visited = new LongOpenHashSet();
         
-        for (int dx = -DECAY_RANGE; dx <= DECAY_RANGE; dx++) {
-            for (int dy = -DECAY_RANGE; dy <= DECAY_RANGE; dy++) {
-                for (int dz = -DECAY_RANGE; dz <= DECAY_RANGE; dz++) {
-                    BlockPos checkPos = logPos.offset(dx, dy, dz);
-                    BlockState state = level.getBlockState(checkPos);
-                    
-                    if (state.getBlock() instanceof LeavesBlock) {
-                        // Check if this is a natural leaf (not player-placed)
-                        if (state.hasProperty(LeavesBlock.PERSISTENT) && 
-                            !state.getValue(LeavesBlock.PERSISTENT)) {
-                            leavesToDecay.add(checkPos.immutable());
-                        }
-                    }
+        READER.begin(level);
+        
+        // Seed with leaves touching any removed log
+        for (int i = 0; i < removedLogs.size(); i++) {
+            long log = removedLogs.getLong(i);
+            for (int[] face : BlockFloodFill.FACES) {
+                long neighbor = BlockPos.offset(log, face[0], face[1], face[2]);
+                if (isNaturalLeaf(readState(neighbor)) && visited.add(neighbor)) {
+                    frontier.enqueue(neighbor);
                 }
             }
         }
         
-        // Schedule decay with staggered timing for natural look
-        int delay = DECAY_DELAY;
-        for (BlockPos leafPos : leavesToDecay) {
-            final int currentDelay = delay;
-            level.scheduleTick(leafPos, level.getBlockState(leafPos).getBlock(), currentDelay);
-            delay += 1 + level.random.nextInt(2); // Stagger by 1-2 ticks each
+        // Walk outward: a leaf belongs to this tree if its DISTANCE grows away from the logs
+        while (!frontier.isEmpty()) {
+            long leaf = frontier.dequeueLong();
+            int distance = readState(leaf).getValue(LeavesBlock.DISTANCE);
+            
+            if (queue.queued.add(leaf)) {
+                // Stagger outward from the logs for a natural look
+                queue.enqueue(leaf, start + distance + level.random.nextInt(2), 0);
+            }
+            
+            for (int[] face : BlockFloodFill.FACES) {
+                long neighbor = BlockPos.offset(leaf, face[0], face[1], face[2]);
+                if (visited.contains(neighbor)) continue;
+                
+                BlockState state = readState(neighbor);
+                if (isNaturalLeaf(state) && state.getValue(LeavesBlock.DISTANCE) > distance) {
+                    visited.add(neighbor);
+                    frontier.enqueue(neighbor);
+                }
+            }
         }
+        
+        READER.end();
+    }
+    
+    private static void onWorldTick(ServerLevel level) {
+        DecayQueue queue = QUEUES.get(level);
+        if (queue == null || queue.byDue.isEmpty()) return;
+        
+        long now = level.getGameTime();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        
+        int handled = 0;
+        while (handled < LEAVES_PER_TICK && !queue.byDue.isEmpty()) {
+            long due = queue.byDue.firstLongKey();
+            if (due > now) break;
+            
+            DueBatch batch = queue.byDue.get(due);
+            while (handled < LEAVES_PER_TICK && !batch.positions.isEmpty()) {
+                int last = batch.positions.size() - 1;
+                long packed = batch.positions.removeLong(last);
+                int attempts = batch.attempts.removeInt(last);
+                queue.queued.remove(packed);
+                handled++;
+                
+                decayLeaf(level, queue, pos.set(packed), attempts, now);
+            }
+            
+            if (batch.positions.isEmpty()) {
+                queue.byDue.remove(due);
+            }
+        }
+    }
+    
+    private static void decayLeaf(ServerLevel level, DecayQueue queue, BlockPos.MutableBlockPos pos, int attempts, long now) {
+        if (!level.isLoaded(pos)) return;
+        
+        BlockState state = level.getBlockState(pos);
+        if (!isNaturalLeaf(state)) return;
+        
+        if (state.getValue(LeavesBlock.DISTANCE) >= LeavesBlock.DECAY_DISTANCE) {
+            // Same as the vanilla random tick of a disconnected leaf: drop and remove
+            state.randomTick(level, pos.immutable(), level.random);
+        } else if (attempts < MAX_ATTEMPTS) {
+            // Distance still updating from the removed logs, refresh it and look again later
+            level.scheduleTick(pos.immutable(), state.getBlock(), 1);
+            queue.queued.add(pos.asLong());
+            queue.enqueue(pos.asLong(), now + DECAY_DELAY, attempts + 1);
+        }
+    }
+    
+    private static BlockState readState(long packed) {
+        return READER.getBlockState(BlockPos.getX(packed), BlockPos.getY(packed), BlockPos.getZ(packed));
+    }
+    
+    private static boolean isNaturalLeaf(BlockState state) {
+        return state.getBlock() instanceof LeavesBlock
+            && state.hasProperty(LeavesBlock.PERSISTENT) && !state.getValue(LeavesBlock.PERSISTENT);
+    }
+    
+    /**
+     * Pending leaves for one level, grouped by due tick
+     */
+    private static class DecayQueue {
+        final Long2ObjectRBTreeMap<DueBatch> byDue = new Long2ObjectRBTreeMap<>();
+        final LongOpenHashSet queued = new LongOpenHashSet();
+        
+        void enqueue(long pos, long due, int attempt) {
+            DueBatch batch = byDue.get(due);
+            if (batch == null) {
+                batch = new DueBatch();
+                byDue.put(due, batch);
+            }
+            batch.positions.add(pos);
+            batch.attempts.add(attempt);
+        }
+    }
+    
+    /**
+     * Leaves due on the same tick, with how often each was already re-checked
+     */
+    private static class DueBatch {
+        final LongArrayList positions = new LongArrayList();
+        final IntArrayList attempts = new IntArrayList();
     }
 }
@@ -1,6 +1,7 @@
 package com.baesp.aio.features;
 
 import com.baesp.aio.AioMod;
+import com.baesp.aio.util.BlockBatch;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -102,6 +103,7 @@ public class HoeTweaksManager {
     
     private static void areaIll(ServerLevel level, ServerPlayer player, BlockPos center, ItemStack hoe) {
         int tilled = 0;
+        BlockBatch batch = new BlockBatch(level);
         
         // 3x3 area around the clicked block
         for (int dx = -1; dx <= 1; dx++) {
@@ -110,7 +112,7 @@ public class HoeTweaksManager {
                 
                 if (canTill(level, targetPos) && isAirAbove(level, targetPos)) {
                     // Till this block
-                    level.setBlock(targetPos, Blocks.FARMLAND.defaultBlockState(), Block.UPDATE_ALL);
+                    batch.set(targetPos, Blocks.FARMLAND.defaultBlockState());
                     tilled++;
                     
                     // Damage hoe
@@ -121,6 +123,8 @@ public class HoeTweaksManager {
             }
         }
         
+        batch.apply(); // One packet for the area instead of one per block
+        
         if (tilled > 0) {
             // Play tilling sound once
             level.playSound(null, center, SoundEvents.HOE_TILL, SoundSource.BLOCKS, 1.0f, 1.0f);
@@ -3,18 +3,34 @@ package com.baesp.aio.features;
 import com.baesp.aio.AioMod;
 import com.baesp.aio.rpg.SkillsManager;
 import com.baesp.aio.rpg.economy.EconomyManager;
+import com.baesp.aio.util.BlockBatch;
+import com.baesp.aio.util.BlockFloodFill;
+import com.baesp.aio.util.DropCollector;
+import com.baesp.aio.util.SectionSnapshot;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.event.player.PlayerBlockBreakEvents;
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.tags.BlockTags;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.LevelEvent;
+import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.gameevent.GameEvent;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * Vein Mining & Lumberjack System
@@ -27,15 +43,23 @@ import java.util.*;
  * - Integrates with XP systems (Mining skill for ores, Woodcutting for logs)
  * - Awards money based on blocks broken
  * - Respects tool durability
- * - Maximum vein size to prevent lag
+ * - Maximum vein size configurable in AioConfig
+ * - Large veins are discovered and broken a slice per tick within a
+ *   block and time budget, with progress on the action bar (/aio cancel stops them)
+ * - Optionally collects the whole vein's drops straight into the inventory,
+ *   merged into full stacks, instead of spawning an item entity per block
+ * - Optionally finds veins on a worker thread against a snapshot of the
+ *   surrounding chunk sections; every block is re-checked before breaking
+ * - Each slice's blocks are removed as one batch: neighbour updates only at the
+ *   edge of the vein and one block update packet per chunk section
  * 
  * Inspired by Vein Miner, TreeCapitator, and similar mods.
  */
 public class VeinMiningManager {
     
-    // Maximum blocks that can be broken in one vein
-    private static final int MAX_VEIN_SIZE = 64;
-    private static final int MAX_TREE_SIZE = 128;
+    // Jobs are cancelled once the player wanders this far from where they started
+    private static final int CANCEL_DISTANCE = 64;
+    private static final int PROGRESS_INTERVAL = 5; // Ticks between action bar progress updates
     
     // Block categories and their XP/money values
     private static final Set<Block> ORE_BLOCKS = new HashSet<>();
@@ -47,6 +71,34 @@ public class VeinMiningManager {
     // Currently processing (to prevent recursion)
     private static boolean isProcessing = false;
     
+    // Player UUID -> queued veins and trees, front one in progress
+    private static final Map<UUID, ArrayDeque<VeinJob>> JOBS = new HashMap<>();
+    
+    // Workers for async vein discovery
+    private static final ExecutorService DISCOVERY_POOL = Executors.newFixedThreadPool(2, new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "AIO Vein Discovery #" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    
+    // For trees, we also check diagonals and each horizontal neighbour one block up, upward first
+    private static final int[][] TREE_OFFSETS = {
+        {0, 1, 0},
+        {1, 0, 0}, {1, 1, 0},
+        {-1, 0, 0}, {-1, 1, 0},
+        {0, 0, 1}, {0, 1, 1},
+        {0, 0, -1}, {0, 1, -1},
+        {1, 0, 1}, {1, 1, 1},
+        {-1, 0, 1}, {-1, 1, 1},
+        {1, 0, -1}, {1, 1, -1},
+        {-1, 0, -1}, {-1, 1, -1}
+    };
+    
     static {
         // Ore blocks for vein mining
         ORE_BLOCKS.add(Blocks.COAL_ORE);
@@ -139,212 +191,311 @@ public class VeinMiningManager {
             return true; // Allow original block break to continue
         });
         
+        // Work through queued veins and trees a slice at a time
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
+            if (JOBS.isEmpty()) return;
+            
+            Iterator<Map.Entry<UUID, ArrayDeque<VeinJob>>> iterator = JOBS.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, ArrayDeque<VeinJob>> entry = iterator.next();
+                ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+                if (player == null) {
+                    iterator.remove();
+                    continue;
+                }
+                
+                tickJobs(player, entry.getValue());
+                if (entry.getValue().isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        });
+        
         AioMod.LOGGER.info("Vein Mining Manager registered.");
     }
     
     private static void processVeinMining(ServerPlayer player, BlockPos startPos, Block oreBlock) {
-        ServerLevel level = (ServerLevel) player.level();
-        ItemStack tool = player.getMainHandItem();
-        
         // Find all connected ore blocks
-        Set<BlockPos> vein = findConnectedBlocks(level, startPos, oreBlock, MAX_VEIN_SIZE);
-        
-        if (vein.size() <= 1) return; // Only the original block, no vein
-        
-        isProcessing = true;
+        VeinJob job = new VeinJob((ServerLevel) player.level(), startPos, oreBlock, false, player.getMainHandItem());
+        startDiscovery(job, BlockFloodFill.FACES, state -> state.getBlock() == oreBlock, AioMod.CONFIG.veinMiningMaxVeinSize);
+        queueJob(player, job);
+    }
+    
+    private static void processLumberjack(ServerPlayer player, BlockPos startPos, Block logBlock) {
+        // Find all connected logs (going up primarily for trees)
+        VeinJob job = new VeinJob((ServerLevel) player.level(), startPos, logBlock, true, player.getMainHandItem());
+        startDiscovery(job, TREE_OFFSETS, state -> LOG_BLOCKS.contains(state.getBlock()), AioMod.CONFIG.veinMiningMaxTreeSize);
+        queueJob(player, job);
+    }
+    
+    /**
+     * Start finding the blocks for a job, either stepped on the server thread or,
+     * in async mode, on a worker against a snapshot of the surrounding sections.
+     * The matcher must be safe to call from a worker thread.
+     */
+    private static void startDiscovery(VeinJob job, int[][] offsets, Predicate<BlockState> matcher, int maxSize) {
+        if (!AioMod.CONFIG.veinMiningAsyncDiscovery) {
+            job.search = new BlockFloodFill();
+            job.search.start(job.level, job.startPos, offsets, matcher, maxSize, Integer.MAX_VALUE);
+            return;
+        }
         
-        int blocksbroken = 0;
-        long totalMoney = 0;
-        int totalXp = 0;
+        SectionSnapshot snapshot = SectionSnapshot.capture(job.level, job.startPos, AioMod.CONFIG.veinMiningSnapshotRadius);
+        job.pending = CompletableFuture.supplyAsync(
+            () -> new BlockFloodFill().search(snapshot, job.startPos, offsets, matcher, maxSize, Integer.MAX_VALUE),
+            DISCOVERY_POOL
+        );
+    }
+    
+    private static void queueJob(ServerPlayer player, VeinJob job) {
+        // Runs from the next END_SERVER_TICK, so each tick gets exactly one budget
+        JOBS.computeIfAbsent(player.getUUID(), uuid -> new ArrayDeque<>()).addLast(job);
+    }
+    
+    /**
+     * Run the player's queued jobs until this tick's block or time budget is used up
+     */
+    private static void tickJobs(ServerPlayer player, ArrayDeque<VeinJob> queue) {
+        long deadline = System.nanoTime() + AioMod.CONFIG.veinMiningTickBudgetMicros * 1000L;
+        int blockBudget = AioMod.CONFIG.veinMiningBlocksPerTick;
         
-        for (BlockPos pos : vein) {
-            if (pos.equals(startPos)) continue; // Skip the original block (it will break normally)
+        while (!queue.isEmpty()) {
+            VeinJob job = queue.peekFirst();
             
-            BlockState state = level.getBlockState(pos);
-            if (state.getBlock() != oreBlock) continue;
-            
-            // Check tool durability
-            if (tool.isDamageableItem() && tool.getDamageValue() >= tool.getMaxDamage() - 1) {
-                break; // Tool would break, stop mining
+            if (shouldCancel(player, job)) {
+                queue.pollFirst();
+                if (job.pending != null) {
+                    job.pending.cancel(false);
+                }
+                finishJob(player, job, true);
+                continue;
             }
             
-            // Break the block
-            level.destroyBlock(pos, true, player);
-            blocksbroken++;
+            blockBudget -= job.run(player, deadline, blockBudget);
             
-            // Damage tool
-            if (tool.isDamageableItem()) {
-                tool.hurtAndBreak(1, player, player.getEquipmentSlotForItem(tool));
+            if (job.finished) {
+                queue.pollFirst();
+                finishJob(player, job, false);
+            } else {
+                showProgress(player, job);
+                return; // Out of budget for this tick
             }
             
-            // Calculate rewards
-            int value = BLOCK_VALUES.getOrDefault(oreBlock, 2);
-            totalMoney += value;
-            totalXp += 5; // XP per ore
-        }
-        
-        // Award XP to Mining skill
-        if (totalXp > 0) {
-            SkillsManager.addSkillXp(player, com.baesp.aio.rpg.SkillsData.SKILL_MINING, totalXp);
-        }
-        
-        // Award money
-        if (totalMoney > 0) {
-            EconomyManager.deposit(player, totalMoney);
+            if (blockBudget <= 0 || System.nanoTime() >= deadline) return;
         }
+    }
+    
+    private static boolean shouldCancel(ServerPlayer player, VeinJob job) {
+        if (player.level() != job.level) return true; // Changed dimension
+        if (player.getMainHandItem() != job.tool) return true; // Switched or broke the tool
+        return player.blockPosition().distSqr(job.startPos) > CANCEL_DISTANCE * CANCEL_DISTANCE;
+    }
+    
+    /**
+     * Cancel all queued veins and trees for a player, paying out what was already broken
+     * 
+     * @return number of jobs cancelled
+     */
+    public static int cancelJobs(ServerPlayer player) {
+        ArrayDeque<VeinJob> queue = JOBS.remove(player.getUUID());
+        if (queue == null) return 0;
         
-        // Notify player
-        if (blocksbroken > 0) {
-            player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
-                "§6[Vein Mining] §fBroke §e" + (blocksbroken + 1) + " §fores! §a+$" + totalMoney + " §b+" + totalXp + " XP"
-            ));
+        int cancelled = queue.size();
+        for (VeinJob job : queue) {
+            if (job.pending != null) {
+                job.pending.cancel(false);
+            }
+            finishJob(player, job, true);
         }
-        
-        isProcessing = false;
+        return cancelled;
     }
     
-    private static void processLumberjack(ServerPlayer player, BlockPos startPos, Block logBlock) {
-        ServerLevel level = (ServerLevel) player.level();
-        ItemStack tool = player.getMainHandItem();
-        
-        // Find all connected logs (going up primarily for trees)
-        Set<BlockPos> tree = findTreeLogs(level, startPos, logBlock, MAX_TREE_SIZE);
-        
-        if (tree.size() <= 1) return; // Only the original block, no tree
-        
-        isProcessing = true;
-        
-        int blocksbroken = 0;
-        long totalMoney = 0;
-        int totalXp = 0;
+    public static void onPlayerDisconnect(ServerPlayer player) {
+        cancelJobs(player);
+    }
+    
+    private static void showProgress(ServerPlayer player, VeinJob job) {
+        if (player.level().getGameTime() % PROGRESS_INTERVAL != 0) return;
         
-        // Sort by Y descending so top blocks fall first
-        List<BlockPos> sortedLogs = new ArrayList<>(tree);
-        sortedLogs.sort((a, b) -> Integer.compare(b.getY(), a.getY()));
+        String prefix = job.lumberjack ? "§6[Lumberjack] " : "§6[Vein Mining] ";
+        String progress = job.blocks == null
+            ? "§fScanning..."
+            : "§fBroken §e" + job.blocksBroken + "§7/§e" + (job.blocks.size() - 1);
+        player.displayClientMessage(net.minecraft.network.chat.Component.literal(prefix + progress), true);
+    }
+    
+    private static void finishJob(ServerPlayer player, VeinJob job, boolean cancelled) {
+        // Whatever did not fit in the inventory drops at the origin block
+        if (job.drops != null) {
+            job.drops.giveTo(player);
+            job.drops.spawnAt(job.level, job.startPos);
+        }
         
-        for (BlockPos pos : sortedLogs) {
-            if (pos.equals(startPos)) continue; // Skip the original block
-            
-            BlockState state = level.getBlockState(pos);
-            if (!LOG_BLOCKS.contains(state.getBlock())) continue;
-            
-            // Check tool durability
-            if (tool.isDamageableItem() && tool.getDamageValue() >= tool.getMaxDamage() - 1) {
-                break;
-            }
-            
-            // Break the block
-            level.destroyBlock(pos, true, player);
-            blocksbroken++;
-            
-            // Damage tool
-            if (tool.isDamageableItem()) {
-                tool.hurtAndBreak(1, player, player.getEquipmentSlotForItem(tool));
-            }
-            
-            // Calculate rewards
-            int value = BLOCK_VALUES.getOrDefault(state.getBlock(), 2);
-            totalMoney += value;
-            totalXp += 3; // XP per log
+        // One leaf decay pass for the whole felled tree
+        if (job.lumberjack && job.blocksBroken > 0) {
+            FastLeafDecayManager.scheduleLeafDecay(job.level, job.felled);
         }
         
-        // Award XP to Woodcutting skill
-        if (totalXp > 0) {
-            SkillsManager.addSkillXp(player, com.baesp.aio.rpg.SkillsData.SKILL_WOODCUTTING, totalXp);
+        // Award XP to Mining or Woodcutting skill
+        if (job.totalXp > 0) {
+            int skill = job.lumberjack ? com.baesp.aio.rpg.SkillsData.SKILL_WOODCUTTING : com.baesp.aio.rpg.SkillsData.SKILL_MINING;
+            SkillsManager.addSkillXp(player, skill, job.totalXp);
         }
         
         // Award money
-        if (totalMoney > 0) {
-            EconomyManager.deposit(player, totalMoney);
+        if (job.totalMoney > 0) {
+            EconomyManager.deposit(player, job.totalMoney);
         }
         
         // Notify player
-        if (blocksbroken > 0) {
-            player.sendSystemMessage(net.minecraft.network.chat.Component.literal(
-                "§6[Lumberjack] §fFelled §e" + (blocksbroken + 1) + " §flogs! §a+$" + totalMoney + " §b+" + totalXp + " XP"
-            ));
+        if (job.blocksBroken > 0) {
+            String rewards = " §a+$" + job.totalMoney + " §b+" + job.totalXp + " XP";
+            String message;
+            if (cancelled) {
+                message = (job.lumberjack ? "§6[Lumberjack] §cCancelled §fafter §e" : "§6[Vein Mining] §cCancelled §fafter §e")
+                    + job.blocksBroken + (job.lumberjack ? " §flogs." : " §fores.") + rewards;
+            } else if (job.lumberjack) {
+                message = "§6[Lumberjack] §fFelled §e" + (job.blocksBroken + 1) + " §flogs!" + rewards;
+            } else {
+                message = "§6[Vein Mining] §fBroke §e" + (job.blocksBroken + 1) + " §fores!" + rewards;
+            }
+            player.sendSystemMessage(net.minecraft.network.chat.Component.literal(message));
         }
-        
-        isProcessing = false;
     }
     
-    private static Set<BlockPos> findConnectedBlocks(ServerLevel level, BlockPos start, Block targetBlock, int maxSize) {
-        Set<BlockPos> found = new HashSet<>();
-        Queue<BlockPos> toCheck = new LinkedList<>();
+    /**
+     * A vein or tree being discovered and then broken over one or more ticks
+     */
+    private static class VeinJob {
+        final ServerLevel level;
+        final BlockPos startPos;
+        final Block targetBlock;
+        final boolean lumberjack;
+        final ItemStack tool;
+        BlockFloodFill search; // Stepped discovery, null in async mode
+        final DropCollector drops; // null when drops spawn in the world per block
+        final LongArrayList felled; // Logs actually removed, origin included, null unless lumberjack
         
-        toCheck.add(start);
-        found.add(start);
+        CompletableFuture<LongArrayList> pending; // Async discovery, null when stepped on the server thread
+        LongArrayList blocks; // null while still discovering
+        int index;
+        boolean finished;
         
-        while (!toCheck.isEmpty() && found.size() < maxSize) {
-            BlockPos current = toCheck.poll();
-            
-            // Check all 6 adjacent blocks
-            for (Direction dir : Direction.values()) {
-                BlockPos neighbor = current.relative(dir);
+        int blocksBroken;
+        long totalMoney;
+        int totalXp;
+        
+        VeinJob(ServerLevel level, BlockPos startPos, Block targetBlock, boolean lumberjack, ItemStack tool) {
+            this.level = level;
+            this.startPos = startPos.immutable();
+            this.targetBlock = targetBlock;
+            this.lumberjack = lumberjack;
+            this.tool = tool;
+            this.drops = AioMod.CONFIG.veinMiningCollectDrops ? new DropCollector() : null;
+            this.felled = lumberjack ? LongArrayList.of(this.startPos.asLong()) : null;
+        }
+        
+        /**
+         * Continue discovery, then breaking, until the deadline or block budget runs out
+         * 
+         * @return blocks broken by this call
+         */
+        int run(ServerPlayer player, long deadline, int maxBlocks) {
+            if (blocks == null) {
+                if (pending != null) {
+                    if (!pending.isDone()) return 0;
+                    try {
+                        blocks = pending.join();
+                    } catch (CancellationException | CompletionException e) {
+                        AioMod.LOGGER.error("Vein discovery failed", e);
+                        finished = true;
+                        return 0;
+                    }
+                } else {
+                    if (!search.step(deadline)) return 0;
+                    
+                    blocks = search.result();
+                    search.end();
+                }
                 
-                if (found.contains(neighbor)) continue;
+                if (blocks.size() <= 1) { // Only the original block, no vein
+                    finished = true;
+                    return 0;
+                }
                 
-                BlockState state = level.getBlockState(neighbor);
-                if (state.getBlock() == targetBlock) {
-                    found.add(neighbor);
-                    toCheck.add(neighbor);
+                if (lumberjack) {
+                    // Sort by Y descending so top blocks fall first
+                    blocks.sort((long a, long b) -> Integer.compare(BlockPos.getY(b), BlockPos.getY(a)));
                 }
             }
-        }
-        
-        return found;
-    }
-    
-    private static Set<BlockPos> findTreeLogs(ServerLevel level, BlockPos start, Block logBlock, int maxSize) {
-        Set<BlockPos> found = new HashSet<>();
-        Queue<BlockPos> toCheck = new LinkedList<>();
-        
-        toCheck.add(start);
-        found.add(start);
-        
-        // For trees, we also check diagonals and prioritize going up
-        int[] dx = {0, 1, -1, 0, 0, 1, -1, 1, -1};
-        int[] dz = {0, 0, 0, 1, -1, 1, 1, -1, -1};
-        int[] dy = {1, 0, 0, 0, 0, 0, 0, 0, 0}; // Prioritize upward
-        
-        while (!toCheck.isEmpty() && found.size() < maxSize) {
-            BlockPos current = toCheck.poll();
             
-            // Check upward first
-            BlockPos up = current.above();
-            if (!found.contains(up)) {
-                BlockState state = level.getBlockState(up);
-                if (LOG_BLOCKS.contains(state.getBlock())) {
-                    found.add(up);
-                    toCheck.add(up);
-                }
-            }
+            long startKey = startPos.asLong();
+            int broken = 0;
+            BlockBatch batch = AioMod.CONFIG.veinMiningBatchUpdates ? new BlockBatch(level) : null;
+            isProcessing = true;
             
-            // Check horizontal and diagonal neighbors
-            for (int i = 1; i < dx.length; i++) {
-                BlockPos neighbor = current.offset(dx[i], 0, dz[i]);
+            while (index < blocks.size() && broken < maxBlocks) {
+                if (broken > 0 && System.nanoTime() >= deadline) break;
                 
-                if (found.contains(neighbor)) continue;
+                long packed = blocks.getLong(index++);
+                if (packed == startKey) continue; // Skip the original block (it breaks normally)
                 
-                BlockState state = level.getBlockState(neighbor);
-                if (LOG_BLOCKS.contains(state.getBlock())) {
-                    found.add(neighbor);
-                    toCheck.add(neighbor);
+                // Re-check, the world may have changed since discovery
+                BlockPos pos = BlockPos.of(packed);
+                BlockState state = level.getBlockState(pos);
+                if (lumberjack ? !LOG_BLOCKS.contains(state.getBlock()) : state.getBlock() != targetBlock) continue;
+                
+                // Check tool durability
+                if (tool.isDamageableItem() && tool.getDamageValue() >= tool.getMaxDamage() - 1) {
+                    finished = true; // Tool would break, stop mining
+                    break;
                 }
                 
-                // Also check one block up from diagonal
-                BlockPos diagUp = neighbor.above();
-                if (!found.contains(diagUp)) {
-                    state = level.getBlockState(diagUp);
-                    if (LOG_BLOCKS.contains(state.getBlock())) {
-                        found.add(diagUp);
-                        toCheck.add(diagUp);
+                // Break the block, drops always use the tool so Fortune and Silk Touch apply
+                BlockEntity blockEntity = state.hasBlockEntity() ? level.getBlockEntity(pos) : null;
+                if (drops != null) {
+                    for (ItemStack drop : Block.getDrops(state, level, pos, blockEntity, player, tool)) {
+                        drops.add(drop);
                     }
+                    state.spawnAfterBreak(level, pos, tool, true); // Ore XP
+                } else {
+                    Block.dropResources(state, level, pos, blockEntity, player, tool);
+                }
+                
+                if (batch != null) {
+                    // Same effects destroyBlock would send, block updates go out with the batch
+                    level.levelEvent(LevelEvent.PARTICLES_DESTROY_BLOCK, pos, Block.getId(state));
+                    level.gameEvent(GameEvent.BLOCK_DESTROY, pos, GameEvent.Context.of(player, state));
+                    batch.set(pos, state.getFluidState().createLegacyBlock());
+                } else {
+                    level.destroyBlock(pos, false, player);
                 }
+                broken++;
+                blocksBroken++;
+                if (felled != null) felled.add(packed);
+                
+                // Damage tool
+                if (tool.isDamageableItem()) {
+                    tool.hurtAndBreak(1, player, player.getEquipmentSlotForItem(tool));
+                }
+                
+                // Calculate rewards
+                totalMoney += BLOCK_VALUES.getOrDefault(state.getBlock(), 2);
+                totalXp += lumberjack ? 3 : 5; // XP per log / ore
             }
+            
+            if (batch != null) {
+                batch.apply();
+            }
+            isProcessing = false;
+            if (drops != null) {
+                drops.giveTo(player);
+            }
+            if (index >= blocks.size()) {
+                finished = true;
+            }
+            return broken;
         }
-        
-        return found;
     }
     
     /**
@@ -2,15 +2,28 @@ package com.baesp.aio.features;
 
 import com.baesp.aio.AioMod;
 import com.baesp.aio.rpg.economy.EconomyManager;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.Identifier;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.Item;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
 
+import java.io.Reader;
 import java.util.*;
 
 /**
@@ -19,6 +32,14 @@ import java.util.*;
  * When enabled, pulls items toward the player.
  * "Junk" items are voided (deleted) in exchange for small currency amounts.
  * Valuable items are still collected normally.
+ * Junk values come from data/aio/junk_items.json and are paid out once per second.
+ * 
+ * Players with no item entity in range are put to sleep and only re-checked
+ * once a second, or sooner when they move to another block or an item spawns
+ * in, or moves into, their magnet cell (the chunk section they stand in plus
+ * its neighbours). Awake players are pulled at a reduced
+ * rate with the impulse integrated over the interval, except while standing in
+ * a drop stream where they are pulled every tick.
  * 
  * Inspired by various item magnet mods.
  */
@@ -27,70 +48,74 @@ public class VoidMagnetManager {
     // Player UUID -> enabled state
     private static final Map<UUID, Boolean> enabledPlayers = new HashMap<>();
     
-    // Items considered "junk" and their void values
-    private static final Map<Item, Integer> JUNK_ITEMS = new HashMap<>();
+    // Player UUID -> magnet scheduling state
+    private static final Map<UUID, MagnetState> magnetStates = new HashMap<>();
+    
+    // Section key -> sleeping magnets centred in that section
+    private static final Long2ObjectOpenHashMap<List<MagnetState>> sleepingByCell = new Long2ObjectOpenHashMap<>();
+    
+    // Items considered "junk": void value per item, indexed by item raw id (0 = not junk)
+    private static int[] junkValues = new int[0];
+    
+    // Junk values added from code, re-applied on top of every datapack reload
+    private static final Map<Item, Integer> EXTRA_JUNK_ITEMS = new HashMap<>();
+    
+    // Player UUID -> voided value waiting to be paid out
+    private static final Map<UUID, VoidLedger> ledgers = new HashMap<>();
     
     // Configuration
     private static final double MAGNET_RANGE = 8.0;
     private static final double PULL_SPEED = 0.3;
     private static final double VOID_RANGE = 1.5; // Items within this range get voided/collected
+    private static final int IDLE_INTERVAL = 4; // Ticks between pulls with only a few items around
+    private static final int STREAM_THRESHOLD = 8; // Items in range that count as a drop stream
+    private static final int LEDGER_FLUSH_INTERVAL = 20; // Ticks between ledger payouts
+    private static final int SLEEP_POLL_INTERVAL = 20; // Ticks between re-checks of a sleeping magnet
     
-    static {
-        // Initialize junk items with their void values
-        // These give small amounts of money when voided
-        JUNK_ITEMS.put(Items.DIRT, 1);
-        JUNK_ITEMS.put(Items.COBBLESTONE, 1);
-        JUNK_ITEMS.put(Items.STONE, 1);
-        JUNK_ITEMS.put(Items.GRAVEL, 1);
-        JUNK_ITEMS.put(Items.SAND, 1);
-        JUNK_ITEMS.put(Items.NETHERRACK, 1);
-        JUNK_ITEMS.put(Items.COBBLED_DEEPSLATE, 1);
-        JUNK_ITEMS.put(Items.ANDESITE, 1);
-        JUNK_ITEMS.put(Items.DIORITE, 1);
-        JUNK_ITEMS.put(Items.GRANITE, 1);
-        JUNK_ITEMS.put(Items.TUFF, 1);
-        JUNK_ITEMS.put(Items.CALCITE, 1);
-        JUNK_ITEMS.put(Items.DEEPSLATE, 1);
-        JUNK_ITEMS.put(Items.ROTTEN_FLESH, 2);
-        JUNK_ITEMS.put(Items.SPIDER_EYE, 2);
-        JUNK_ITEMS.put(Items.STRING, 2);
-        JUNK_ITEMS.put(Items.BONE, 2);
-        JUNK_ITEMS.put(Items.GUNPOWDER, 3);
-        JUNK_ITEMS.put(Items.ARROW, 1);
-        JUNK_ITEMS.put(Items.POISONOUS_POTATO, 1);
-        JUNK_ITEMS.put(Items.DEAD_BUSH, 1);
-        JUNK_ITEMS.put(Items.FERN, 1);
-        JUNK_ITEMS.put(Items.SHORT_GRASS, 1);
-        JUNK_ITEMS.put(Items.TALL_GRASS, 1);
-        JUNK_ITEMS.put(Items.SEAGRASS, 1);
-        JUNK_ITEMS.put(Items.KELP, 1);
-        JUNK_ITEMS.put(Items.WHEAT_SEEDS, 1);
-        JUNK_ITEMS.put(Items.BEETROOT_SEEDS, 1);
-        JUNK_ITEMS.put(Items.PUMPKIN_SEEDS, 1);
-        JUNK_ITEMS.put(Items.MELON_SEEDS, 1);
-        JUNK_ITEMS.put(Items.BAMBOO, 1);
-        JUNK_ITEMS.put(Items.CACTUS, 1);
-        JUNK_ITEMS.put(Items.SUGAR_CANE, 1);
-        JUNK_ITEMS.put(Items.FLINT, 1);
-        JUNK_ITEMS.put(Items.INK_SAC, 2);
-        JUNK_ITEMS.put(Items.GLOW_INK_SAC, 3);
-    }
+    // Datapack file holding the junk values: data/aio/junk_items.json
+    private static final Identifier JUNK_ITEMS_FILE = Identifier.fromNamespaceAndPath(AioMod.MOD_ID, "junk_items.json");
     
     public static void register() {
         // Register server tick event for magnet functionality
         ServerTickEvents.END_SERVER_TICK.register(server -> {
+            long now = server.getTickCount();
             for (ServerPlayer player : server.getPlayerList().getPlayers()) {
                 if (isEnabled(player)) {
-                    tickMagnet(player);
+                    tickMagnet(player, now);
+                }
+            }
+            
+            // Pay out voided items once per second
+            if (now % LEDGER_FLUSH_INTERVAL == 0) {
+                for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                    flushLedger(player);
                 }
             }
         });
         
+        // Junk values are loaded from data/aio/junk_items.json and reloaded with /reload
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> reloadJunkItems(server.getResourceManager()));
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success) {
+                reloadJunkItems(resourceManager);
+            }
+        });
+        
+        // Freshly spawned items wake any sleeping magnet nearby
+        ServerEntityEvents.ENTITY_LOAD.register((entity, level) -> {
+            if (entity instanceof ItemEntity) {
+                onItemEnteredCell(level, cellOf(entity.blockPosition()));
+            }
+        });
+        
         AioMod.LOGGER.info("Void Magnet Manager registered.");
     }
     
     public static void setEnabled(ServerPlayer player, boolean enabled) {
         enabledPlayers.put(player.getUUID(), enabled);
+        if (!enabled) {
+            clearState(player);
+        }
     }
     
     public static boolean isEnabled(ServerPlayer player) {
@@ -101,10 +126,26 @@ public class VoidMagnetManager {
         setEnabled(player, !isEnabled(player));
     }
     
-    private static void tickMagnet(ServerPlayer player) {
+    public static void onPlayerDisconnect(ServerPlayer player) {
+        clearState(player);
+    }
+    
+    private static void tickMagnet(ServerPlayer player, long now) {
         if (player.isSpectator() || player.isDeadOrDying()) return;
         
         ServerLevel level = (ServerLevel) player.level();
+        MagnetState state = magnetStates.computeIfAbsent(player.getUUID(), uuid -> new MagnetState());
+        BlockPos blockPos = player.blockPosition();
+        long cell = cellOf(blockPos);
+        
+        if (state.sleeping) {
+            // Nothing was in range and nothing has arrived since - skip until the next poll
+            if (state.level == level && state.blockPos == blockPos.asLong() && now < state.nextTick) return;
+            wake(state);
+        }
+        
+        if (now < state.nextTick) return;
+        
         Vec3 playerPos = player.position();
         
         // Find all items within range
@@ -113,67 +154,226 @@ public class VoidMagnetManager {
             playerPos.x + MAGNET_RANGE, playerPos.y + MAGNET_RANGE, playerPos.z + MAGNET_RANGE
         );
         
+        // Items still on pickup delay are kept in the result so they keep the magnet awake
         List<ItemEntity> items = level.getEntitiesOfClass(ItemEntity.class, searchBox, 
-            item -> !item.isRemoved() && item.isAlive() && !item.hasPickUpDelay());
+            item -> !item.isRemoved() && item.isAlive());
+        
+        if (items.isEmpty()) {
+            sleep(state, level, blockPos, cell, now);
+            return;
+        }
         
-        long totalVoidMoney = 0;
-        int voidedCount = 0;
+        // Pull every tick inside a drop stream, otherwise integrate over a longer interval
+        int interval = items.size() >= STREAM_THRESHOLD ? 1 : IDLE_INTERVAL;
+        state.nextTick = now + interval;
+        
+        VoidLedger ledger = null;
         
         for (ItemEntity itemEntity : items) {
+            if (itemEntity.hasPickUpDelay()) continue;
+            
             Vec3 itemPos = itemEntity.position();
             double distance = playerPos.distanceTo(itemPos);
             
             // Check if item is close enough to void/collect
             if (distance < VOID_RANGE) {
-                Item item = itemEntity.getItem().getItem();
-                int count = itemEntity.getItem().getCount();
+                int valuePerItem = getVoidValue(itemEntity.getItem().getItem());
                 
                 // Check if this is a junk item
-                if (JUNK_ITEMS.containsKey(item)) {
-                    int valuePerItem = JUNK_ITEMS.get(item);
-                    long value = (long) valuePerItem * count;
-                    totalVoidMoney += value;
-                    voidedCount += count;
+                if (valuePerItem > 0) {
+                    int count = itemEntity.getItem().getCount();
+                    if (ledger == null) {
+                        ledger = ledgers.computeIfAbsent(player.getUUID(), uuid -> new VoidLedger());
+                    }
+                    ledger.money += (long) valuePerItem * count;
+                    ledger.count += count;
                     itemEntity.discard(); // Void the item
                 }
                 // Non-junk items are left for normal pickup
             } else {
-                // Pull item toward player
+                // Pull item toward player, scaled by the ticks until the next pull
+                // but never far enough to overshoot the player before then
                 Vec3 direction = playerPos.subtract(itemPos).normalize();
                 double pullStrength = PULL_SPEED * (1.0 - (distance / MAGNET_RANGE));
+                double impulse = Math.min(pullStrength * interval, distance / interval);
                 
-                Vec3 velocity = direction.scale(pullStrength);
+                Vec3 velocity = direction.scale(impulse);
                 itemEntity.setDeltaMovement(
                     itemEntity.getDeltaMovement().add(velocity)
                 );
             }
         }
+    }
+    
+    /**
+     * Pay out everything voided since the last flush as one deposit and one message
+     */
+    private static void flushLedger(ServerPlayer player) {
+        VoidLedger ledger = ledgers.get(player.getUUID());
+        if (ledger == null || ledger.money <= 0) return;
+        
+        EconomyManager.deposit(player, ledger.money);
+        player.displayClientMessage(Component.literal(
+            "§8[Void] §7Voided §f" + ledger.count + " §7items §a+$" + EconomyManager.formatMoney(ledger.money)
+        ), true);
+        
+        ledger.money = 0;
+        ledger.count = 0;
+    }
+    
+    /**
+     * Rebuild the junk value table from every data/aio/junk_items.json in the loaded datapacks.
+     * Later packs override earlier ones; a pack with "replace": true discards everything before it.
+     */
+    public static void reloadJunkItems(ResourceManager resourceManager) {
+        int[] values = new int[BuiltInRegistries.ITEM.size()];
+        int loaded = 0;
+        
+        for (Resource resource : resourceManager.getResourceStack(JUNK_ITEMS_FILE)) {
+            try (Reader reader = resource.openAsReader()) {
+                JsonObject root = JsonParser.parseReader(reader).getAsJsonObject();
+                if (root.has("replace") && root.get("replace").getAsBoolean()) {
+                    Arrays.fill(values, 0);
+                }
+                JsonObject entries = root.getAsJsonObject("values");
+                if (entries == null) continue;
+                
+                for (Map.Entry<String, JsonElement> entry : entries.entrySet()) {
+                    Identifier id = Identifier.tryParse(entry.getKey());
+                    if (id == null || !BuiltInRegistries.ITEM.containsKey(id)) {
+                        AioMod.LOGGER.warn("Unknown junk item '{}' in {}", entry.getKey(), resource.sourcePackId());
+                        continue;
+                    }
+                    values[BuiltInRegistries.ITEM.getId(BuiltInRegistries.ITEM.getValue(id))] = Math.max(0, entry.getValue().getAsInt());
+                }
+            } catch (Exception e) {
+                AioMod.LOGGER.error("Failed to load junk items from " + resource.sourcePackId(), e);
+            }
+        }
         
-        // Award voided item money
-        if (totalVoidMoney > 0) {
-            EconomyManager.deposit(player, totalVoidMoney);
-            // The floating message will be triggered by the data sync
+        for (Map.Entry<Item, Integer> entry : EXTRA_JUNK_ITEMS.entrySet()) {
+            values[BuiltInRegistries.ITEM.getId(entry.getKey())] = entry.getValue();
         }
+        
+        for (int value : values) {
+            if (value > 0) loaded++;
+        }
+        junkValues = values;
+        AioMod.LOGGER.info("Loaded {} void magnet junk items.", loaded);
+    }
+    
+    /**
+     * Called when an item entity spawns in, or moves into, a chunk section.
+     * Wakes every sleeping magnet whose range can reach that section.
+     */
+    public static void onItemEnteredCell(ServerLevel level, long cell) {
+        if (sleepingByCell.isEmpty()) return;
+        
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    long key = SectionPos.offset(cell, dx, dy, dz);
+                    List<MagnetState> sleepers = sleepingByCell.get(key);
+                    if (sleepers == null) continue;
+                    
+                    sleepers.removeIf(state -> {
+                        if (state.level != level) return false;
+                        state.sleeping = false;
+                        state.nextTick = 0;
+                        return true;
+                    });
+                    if (sleepers.isEmpty()) {
+                        sleepingByCell.remove(key);
+                    }
+                }
+            }
+        }
+    }
+    
+    public static long cellOf(BlockPos pos) {
+        return SectionPos.asLong(
+            SectionPos.blockToSectionCoord(pos.getX()),
+            SectionPos.blockToSectionCoord(pos.getY()),
+            SectionPos.blockToSectionCoord(pos.getZ())
+        );
+    }
+    
+    private static void sleep(MagnetState state, ServerLevel level, BlockPos blockPos, long cell, long now) {
+        state.sleeping = true;
+        state.level = level;
+        state.blockPos = blockPos.asLong();
+        state.cell = cell;
+        state.nextTick = now + SLEEP_POLL_INTERVAL;
+        sleepingByCell.computeIfAbsent(cell, key -> new ArrayList<>()).add(state);
+    }
+    
+    private static void wake(MagnetState state) {
+        List<MagnetState> sleepers = sleepingByCell.get(state.cell);
+        if (sleepers != null) {
+            sleepers.remove(state);
+            if (sleepers.isEmpty()) {
+                sleepingByCell.remove(state.cell);
+            }
+        }
+        state.sleeping = false;
+        state.nextTick = 0;
+    }
+    
+    private static void clearState(ServerPlayer player) {
+        // Pay out what is still pending before the ledger is dropped
+        flushLedger(player);
+        ledgers.remove(player.getUUID());
+        
+        MagnetState state = magnetStates.remove(player.getUUID());
+        if (state != null && state.sleeping) {
+            wake(state);
+        }
+    }
+    
+    /**
+     * Voided value not yet paid out to a player
+     */
+    private static class VoidLedger {
+        long money;
+        int count;
+    }
+    
+    /**
+     * Per-player scheduling state for the magnet
+     */
+    private static class MagnetState {
+        boolean sleeping;
+        ServerLevel level;
+        long blockPos;
+        long cell;
+        long nextTick;
     }
     
     /**
      * Check if an item is considered junk
      */
     public static boolean isJunkItem(Item item) {
-        return JUNK_ITEMS.containsKey(item);
+        return getVoidValue(item) > 0;
     }
     
     /**
      * Get the void value of an item
      */
     public static int getVoidValue(Item item) {
-        return JUNK_ITEMS.getOrDefault(item, 0);
+        int id = BuiltInRegistries.ITEM.getId(item);
+        int[] values = junkValues;
+        return id >= 0 && id < values.length ? values[id] : 0;
     }
     
     /**
      * Add a custom junk item (for config/expansion)
      */
     public static void addJunkItem(Item item, int value) {
-        JUNK_ITEMS.put(item, value);
+        EXTRA_JUNK_ITEMS.put(item, value);
+        int id = BuiltInRegistries.ITEM.getId(item);
+        if (id >= junkValues.length) {
+            junkValues = Arrays.copyOf(junkValues, BuiltInRegistries.ITEM.size());
+        }
+        junkValues[id] = value;
     }
 }
@@ -0,0 +1,29 @@
+package com.baesp.aio.mixin;
+
+import net.minecraft.world.level.block.entity.AbstractFurnaceBlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Accessor mixin for the furnace timers.
+ * Used by the sleep warp fast-forward to skip ticks where only the timers change.
+ */
+@Mixin(AbstractFurnaceBlockEntity.class)
+public interface AbstractFurnaceBlockEntityAccessor {
+
+    @Accessor("litTimeRemaining")
+    int getLitTimeRemaining();
+
+    @Accessor("litTimeRemaining")
+    void setLitTimeRemaining(int litTimeRemaining);
+
+    @Accessor("cookingTimer")
+    int getCookingTimer();
+
+    @Accessor("cookingTimer")
+    void setCookingTimer(int cookingTimer);
+
+    @Accessor("cookingTotalTime")
+    int getCookingTotalTime();
+
+}
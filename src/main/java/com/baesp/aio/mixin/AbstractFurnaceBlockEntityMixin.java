@@ -1,34 +1,189 @@
 package com.baesp.aio.mixin;
 
 import com.baesp.aio.AioMod;
+import com.baesp.aio.util.ChangeCounted;
+import com.baesp.aio.util.ContainerChanges;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.NonNullList;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.AbstractCookingRecipe;
+import net.minecraft.world.item.crafting.RecipeHolder;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.SingleRecipeInput;
+import net.minecraft.world.level.block.entity.FuelValues;
 import net.minecraft.world.level.block.entity.AbstractFurnaceBlockEntity;
+import net.minecraft.world.level.block.entity.BlastFurnaceBlockEntity;
+import net.minecraft.world.level.block.entity.SmokerBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+/**
+ * Furnaces, blast furnaces and smokers:
+ * - Fast smelt uses the configured cook time of each block type
+ * - A furnace that is not burning and has no progress sleeps: its tick returns
+ *   immediately until its inventory changes (player, hopper insert or extract)
+ * - Batch mode: when a recipe completes, up to furnaceBatchSize - 1 more are finished
+ *   in the same tick, each paying its full cook time in fuel
+ */
 @Mixin(AbstractFurnaceBlockEntity.class)
 public abstract class AbstractFurnaceBlockEntityMixin {
     
     @Shadow
-    int cookingProgress;
+    int litTimeRemaining;
+    
+    @Shadow
+    int litTotalTime;
+    
+    @Shadow
+    int cookingTimer;
     
     @Shadow
     int cookingTotalTime;
     
-    @Inject(method = "serverTick", at = @At("HEAD"))
-    private static void aio$onTick(net.minecraft.world.level.Level level, net.minecraft.core.BlockPos pos, 
-                                    net.minecraft.world.level.block.state.BlockState state, 
-                                    AbstractFurnaceBlockEntity blockEntity, CallbackInfo ci) {
+    @Shadow
+    protected NonNullList<ItemStack> items;
+    
+    @Shadow
+    @Final
+    private RecipeManager.CachedCheck<SingleRecipeInput, ? extends AbstractCookingRecipe> quickCheck;
+    
+    // Set when the vanilla tick completed a recipe, the batch follows on from it
+    @Unique
+    private boolean aio$completedRecipe;
+    
+    // Change count the furnace fell asleep at, -1 while awake
+    @Unique
+    private int aio$sleepCount = -1;
+    
+    @Shadow
+    protected abstract int getBurnDuration(FuelValues fuelValues, ItemStack stack);
+    
+    @Shadow
+    private static boolean canBurn(RegistryAccess registryAccess, RecipeHolder<? extends AbstractCookingRecipe> recipe,
+                                   SingleRecipeInput input, NonNullList<ItemStack> items, int maxStackSize) {
+        throw new AssertionError();
+    }
+    
+    @Shadow
+    private static boolean burn(RegistryAccess registryAccess, RecipeHolder<? extends AbstractCookingRecipe> recipe,
+                                SingleRecipeInput input, NonNullList<ItemStack> items, int maxStackSize) {
+        throw new AssertionError();
+    }
+    
+    @Inject(method = "getTotalCookTime", at = @At("RETURN"), cancellable = true)
+    private static void aio$cookTime(ServerLevel level, AbstractFurnaceBlockEntity furnace, CallbackInfoReturnable<Integer> cir) {
         if (!AioMod.CONFIG.fastSmeltEnabled) return;
         
-        // Access the mixin target's fields
-        AbstractFurnaceBlockEntityMixin mixin = (AbstractFurnaceBlockEntityMixin) (Object) blockEntity;
+        int cookTime;
+        if (furnace instanceof BlastFurnaceBlockEntity) {
+            cookTime = AioMod.CONFIG.blastFurnaceCookTime;
+        } else if (furnace instanceof SmokerBlockEntity) {
+            cookTime = AioMod.CONFIG.smokerCookTime;
+        } else {
+            cookTime = AioMod.CONFIG.furnaceCookTime;
+        }
+        cir.setReturnValue(Math.max(1, cookTime));
+    }
+    
+    @Inject(method = "serverTick", at = @At("HEAD"), cancellable = true)
+    private static void aio$skipWhileAsleep(ServerLevel level, BlockPos pos, BlockState state, 
+                                             AbstractFurnaceBlockEntity blockEntity, CallbackInfo ci) {
+        AbstractFurnaceBlockEntityMixin furnace = (AbstractFurnaceBlockEntityMixin) (Object) blockEntity;
+        if (furnace.aio$sleepCount == -1) return;
+        
+        if (ContainerChanges.countOf(blockEntity) == furnace.aio$sleepCount) {
+            ci.cancel();
+        } else {
+            furnace.aio$sleepCount = -1; // Inventory changed, wake up
+        }
+    }
+    
+    @Inject(method = "setRecipeUsed", at = @At("HEAD"))
+    private void aio$onRecipeUsed(RecipeHolder<?> recipe, CallbackInfo ci) {
+        aio$completedRecipe = true;
+    }
+    
+    /**
+     * The vanilla tick only marks the block entity itself dirty through the static
+     * setChanged, count it so hoppers waiting on this furnace see the new output
+     */
+    @Inject(method = "serverTick", at = @At(value = "INVOKE", 
+            target = "Lnet/minecraft/world/level/block/entity/BlockEntity;setChanged(Lnet/minecraft/world/level/Level;Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/block/state/BlockState;)V"))
+    private static void aio$countTickChange(ServerLevel level, BlockPos pos, BlockState state, 
+                                             AbstractFurnaceBlockEntity blockEntity, CallbackInfo ci) {
+        ((ChangeCounted) blockEntity).markAioChanged();
+    }
+    
+    @Inject(method = "serverTick", at = @At("TAIL"))
+    private static void aio$batchSmelt(ServerLevel level, BlockPos pos, BlockState state, 
+                                        AbstractFurnaceBlockEntity blockEntity, CallbackInfo ci) {
+        AbstractFurnaceBlockEntityMixin furnace = (AbstractFurnaceBlockEntityMixin) (Object) blockEntity;
+        if (!furnace.aio$completedRecipe) return;
+        furnace.aio$completedRecipe = false;
+        
+        if (!AioMod.CONFIG.fastSmeltEnabled || AioMod.CONFIG.furnaceBatchSize <= 1) return;
+        
+        // Already notified by the vanilla tick, the extra recipes ride on that change
+        RegistryAccess registryAccess = level.registryAccess();
+        int maxStackSize = blockEntity.getMaxStackSize();
+        for (int i = 1; i < AioMod.CONFIG.furnaceBatchSize; i++) {
+            ItemStack input = furnace.items.get(0);
+            if (input.isEmpty()) break;
+            
+            SingleRecipeInput recipeInput = new SingleRecipeInput(input);
+            RecipeHolder<? extends AbstractCookingRecipe> recipe = furnace.quickCheck.getRecipeFor(recipeInput, level).orElse(null);
+            if (!canBurn(registryAccess, recipe, recipeInput, furnace.items, maxStackSize)) break;
+            
+            // Stay lit afterwards, so the next vanilla tick carries on as usual
+            int cost = furnace.cookingTotalTime;
+            if (!furnace.aio$refuel(level, cost)) break;
+            
+            furnace.litTimeRemaining -= cost;
+            if (!burn(registryAccess, recipe, recipeInput, furnace.items, maxStackSize)) break;
+            blockEntity.setRecipeUsed(recipe); // Smelting XP is paid per recipe used
+        }
+        furnace.aio$completedRecipe = false; // Set again by the batch's own setRecipeUsed calls
+    }
+    
+    /**
+     * Burn fuel items until more than the given burn time is left
+     */
+    @Unique
+    private boolean aio$refuel(ServerLevel level, int needed) {
+        while (litTimeRemaining <= needed) {
+            ItemStack fuel = items.get(1);
+            int burnDuration = fuel.isEmpty() ? 0 : getBurnDuration(level.fuelValues(), fuel);
+            if (burnDuration <= 0) return false;
+            
+            litTimeRemaining += burnDuration;
+            litTotalTime = burnDuration;
+            
+            ItemStack remainder = fuel.getItem().getCraftingRemainder();
+            fuel.shrink(1);
+            if (fuel.isEmpty()) {
+                items.set(1, remainder);
+            }
+        }
+        return true;
+    }
+    
+    @Inject(method = "serverTick", at = @At("TAIL"))
+    private static void aio$fallAsleep(ServerLevel level, BlockPos pos, BlockState state, 
+                                        AbstractFurnaceBlockEntity blockEntity, CallbackInfo ci) {
+        AbstractFurnaceBlockEntityMixin furnace = (AbstractFurnaceBlockEntityMixin) (Object) blockEntity;
         
-        // If cooking, set progress to almost complete (1 tick from done)
-        if (mixin.cookingProgress > 0 && mixin.cookingTotalTime > 0) {
-            mixin.cookingProgress = mixin.cookingTotalTime - 1;
+        // Unlit with no progress to cool down: every further tick repeats this one until the inventory changes
+        if (furnace.litTimeRemaining <= 0 && furnace.cookingTimer == 0) {
+            furnace.aio$sleepCount = ContainerChanges.countOf(blockEntity);
         }
     }
 }
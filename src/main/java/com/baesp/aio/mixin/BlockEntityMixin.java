@@ -0,0 +1,34 @@
+package com.baesp.aio.mixin;
+
+import com.baesp.aio.util.ChangeCounted;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to count setChanged() calls on block entities.
+ * Hoppers use the count to skip transfers while nothing they touch has changed.
+ */
+@Mixin(BlockEntity.class)
+public class BlockEntityMixin implements ChangeCounted {
+    @Unique
+    private int aio$changeCount = 0;
+    
+    @Inject(method = "setChanged()V", at = @At("HEAD"))
+    private void aio$countChange(CallbackInfo ci) {
+        aio$changeCount++;
+    }
+    
+    @Override
+    public int getAioChangeCount() {
+        return aio$changeCount;
+    }
+    
+    @Override
+    public void markAioChanged() {
+        aio$changeCount++;
+    }
+}
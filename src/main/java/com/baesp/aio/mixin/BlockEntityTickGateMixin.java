@@ -0,0 +1,24 @@
+package com.baesp.aio.mixin;
+
+import com.baesp.aio.sleepwarp.BlockEntityFastForward;
+import net.minecraft.world.level.block.entity.AbstractFurnaceBlockEntity;
+import net.minecraft.world.level.block.entity.BrewingStandBlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to skip furnace and brewing stand ticks during sleep warp steps,
+ * they are advanced in one go by the fast-forward afterwards.
+ */
+@Mixin({AbstractFurnaceBlockEntity.class, BrewingStandBlockEntity.class})
+public class BlockEntityTickGateMixin {
+    
+    @Inject(method = "serverTick", at = @At("HEAD"), cancellable = true)
+    private static void aio$gateServerTick(CallbackInfo ci) {
+        if (BlockEntityFastForward.isSuppressed()) {
+            ci.cancel();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.baesp.aio.mixin;
+
+import net.minecraft.world.level.block.entity.BrewingStandBlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Accessor mixin for the brewing countdown.
+ * Used by the sleep warp fast-forward.
+ */
+@Mixin(BrewingStandBlockEntity.class)
+public interface BrewingStandBlockEntityAccessor {
+
+    @Accessor("brewTime")
+    int getBrewTime();
+
+    @Accessor("brewTime")
+    void setBrewTime(int brewTime);
+
+}
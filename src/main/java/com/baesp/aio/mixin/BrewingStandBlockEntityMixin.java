@@ -0,0 +1,27 @@
+package com.baesp.aio.mixin;
+
+import com.baesp.aio.util.ChangeCounted;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BrewingStandBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Brewing stands finish brews and use fuel in their tick, which only marks the
+ * block entity dirty through the static setChanged. Count it so hoppers waiting
+ * on the stand see the new potions and the emptied fuel slot.
+ */
+@Mixin(BrewingStandBlockEntity.class)
+public class BrewingStandBlockEntityMixin {
+    
+    @Inject(method = "serverTick", at = @At(value = "INVOKE", 
+            target = "Lnet/minecraft/world/level/block/entity/BlockEntity;setChanged(Lnet/minecraft/world/level/Level;Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/block/state/BlockState;)V"))
+    private static void aio$countTickChange(Level level, BlockPos pos, BlockState state, 
+                                             BrewingStandBlockEntity blockEntity, CallbackInfo ci) {
+        ((ChangeCounted) blockEntity).markAioChanged();
+    }
+}
@@ -0,0 +1,20 @@
+package com.baesp.aio.mixin;
+
+import net.minecraft.world.level.block.entity.CampfireBlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Accessor mixin for the campfire cooking timers (one per slot).
+ * Used by the sleep warp fast-forward.
+ */
+@Mixin(CampfireBlockEntity.class)
+public interface CampfireBlockEntityAccessor {
+
+    @Accessor("cookingProgress")
+    int[] getCookingProgress();
+
+    @Accessor("cookingTime")
+    int[] getCookingTime();
+
+}
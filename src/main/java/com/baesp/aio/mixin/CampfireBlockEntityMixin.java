@@ -1,37 +1,101 @@
 package com.baesp.aio.mixin;
 
 import com.baesp.aio.AioMod;
+import com.baesp.aio.util.ChangeCounted;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.NonNullList;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.CampfireCookingRecipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.SingleRecipeInput;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.CampfireBlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+/**
+ * Campfires:
+ * - Fast smelt caps each slot's cooking time at campfireCookTime
+ * - An empty campfire with no progress left to cool down sleeps until an item is
+ *   placed on it
+ */
 @Mixin(CampfireBlockEntity.class)
 public class CampfireBlockEntityMixin {
     
     @Shadow
+    @Final
+    private NonNullList<ItemStack> items;
+    
+    @Shadow
+    @Final
     private int[] cookingProgress;
     
     @Shadow
+    @Final
     private int[] cookingTime;
     
-    @Inject(method = "cookTick", at = @At("HEAD"))
-    private static void aio$onCookTick(Level level, BlockPos pos, BlockState state, 
-                                        CampfireBlockEntity blockEntity, CallbackInfo ci) {
-        if (!AioMod.CONFIG.fastSmeltEnabled) return;
-        
-        CampfireBlockEntityMixin mixin = (CampfireBlockEntityMixin) (Object) blockEntity;
+    // Change count the campfire fell asleep at, -1 while awake
+    @Unique
+    private int aio$sleepCount = -1;
+    
+    @Inject(method = "cookTick", at = @At("HEAD"), cancellable = true)
+    private static void aio$onCookTick(ServerLevel level, BlockPos pos, BlockState state, CampfireBlockEntity blockEntity,
+                                        RecipeManager.CachedCheck<SingleRecipeInput, CampfireCookingRecipe> check, CallbackInfo ci) {
+        CampfireBlockEntityMixin campfire = (CampfireBlockEntityMixin) (Object) blockEntity;
+        if (campfire.aio$isAsleep(blockEntity)) {
+            ci.cancel();
+            return;
+        }
         
-        // Fast cook all items
-        for (int i = 0; i < mixin.cookingProgress.length; i++) {
-            if (mixin.cookingProgress[i] > 0 && mixin.cookingTime[i] > 0) {
-                mixin.cookingProgress[i] = mixin.cookingTime[i] - 1;
+        boolean cooking = false;
+        for (int i = 0; i < campfire.items.size(); i++) {
+            if (campfire.items.get(i).isEmpty()) continue;
+            cooking = true;
+            
+            if (AioMod.CONFIG.fastSmeltEnabled) {
+                campfire.cookingTime[i] = Math.min(campfire.cookingTime[i], Math.max(1, AioMod.CONFIG.campfireCookTime));
             }
         }
+        
+        if (!cooking) {
+            campfire.aio$sleepCount = ((ChangeCounted) blockEntity).getAioChangeCount();
+            ci.cancel();
+        }
+    }
+    
+    @Inject(method = "cooldownTick", at = @At("HEAD"), cancellable = true)
+    private static void aio$onCooldownTick(Level level, BlockPos pos, BlockState state, CampfireBlockEntity blockEntity, CallbackInfo ci) {
+        CampfireBlockEntityMixin campfire = (CampfireBlockEntityMixin) (Object) blockEntity;
+        if (campfire.aio$isAsleep(blockEntity)) {
+            ci.cancel();
+            return;
+        }
+        
+        for (int progress : campfire.cookingProgress) {
+            if (progress > 0) return; // Still cooling down
+        }
+        
+        // Relighting only changes the block state, food left on it must be seen by cookTick
+        for (ItemStack stack : campfire.items) {
+            if (!stack.isEmpty()) return;
+        }
+        campfire.aio$sleepCount = ((ChangeCounted) blockEntity).getAioChangeCount();
+        ci.cancel();
+    }
+    
+    @Unique
+    private boolean aio$isAsleep(CampfireBlockEntity blockEntity) {
+        if (aio$sleepCount == -1) return false;
+        
+        if (((ChangeCounted) blockEntity).getAioChangeCount() == aio$sleepCount) return true;
+        aio$sleepCount = -1; // Item placed or taken, wake up
+        return false;
     }
 }
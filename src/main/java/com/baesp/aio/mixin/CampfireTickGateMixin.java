@@ -0,0 +1,23 @@
+package com.baesp.aio.mixin;
+
+import com.baesp.aio.sleepwarp.BlockEntityFastForward;
+import net.minecraft.world.level.block.entity.CampfireBlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to skip campfire cooking ticks during sleep warp steps,
+ * they are advanced in one go by the fast-forward afterwards.
+ */
+@Mixin(CampfireBlockEntity.class)
+public class CampfireTickGateMixin {
+    
+    @Inject(method = {"cookTick", "cooldownTick"}, at = @At("HEAD"), cancellable = true)
+    private static void aio$gateCookTick(CallbackInfo ci) {
+        if (BlockEntityFastForward.isSuppressed()) {
+            ci.cancel();
+        }
+    }
+}
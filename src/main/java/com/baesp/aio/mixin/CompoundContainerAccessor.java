@@ -0,0 +1,21 @@
+package com.baesp.aio.mixin;
+
+import net.minecraft.world.CompoundContainer;
+import net.minecraft.world.Container;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Accessor mixin for the two halves of a double chest.
+ * Used by hopper change tracking.
+ */
+@Mixin(CompoundContainer.class)
+public interface CompoundContainerAccessor {
+
+    @Accessor("container1")
+    Container getContainer1();
+
+    @Accessor("container2")
+    Container getContainer2();
+
+}
@@ -0,0 +1,17 @@
+package com.baesp.aio.mixin;
+
+import net.minecraft.world.entity.Display;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+/**
+ * Accessor mixin for Display to invoke private setters.
+ * Used by the warp hub to make packet-only pad labels face the viewer.
+ */
+@Mixin(Display.class)
+public interface DisplayAccessor {
+
+    @Invoker("setBillboardConstraints")
+    void invokeSetBillboardConstraints(Display.BillboardConstraints constraints);
+
+}
@@ -1,19 +1,69 @@
 package com.baesp.aio.mixin;
 
 import com.baesp.aio.AioMod;
+import com.baesp.aio.util.ContainerChanges;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.HopperBlock;
+import net.minecraft.world.level.block.entity.Hopper;
 import net.minecraft.world.level.block.entity.HopperBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+/**
+ * Fast hoppers: configurable cooldown, up to hopperItemsPerTransfer items per move,
+ * and no work at all while a previous attempt failed and neither the hopper nor
+ * the container it pushes to / pulls from has changed since.
+ */
 @Mixin(HopperBlockEntity.class)
 public class HopperBlockEntityMixin {
-    
+
     @Shadow
     private int cooldownTime;
-    
+
+    // Last failed push and pull, with the change counts seen at the time
+    @Unique
+    private Container aio$idleTarget;
+    @Unique
+    private int aio$idleTargetCount;
+    @Unique
+    private int aio$idlePushCount;
+    @Unique
+    private Container aio$idleSource;
+    @Unique
+    private int aio$idleSourceCount;
+    @Unique
+    private int aio$idlePullCount;
+
+    @Shadow
+    private static Container getAttachedContainer(Level level, BlockPos pos, HopperBlockEntity blockEntity) {
+        throw new AssertionError();
+    }
+
+    @Shadow
+    private static Container getSourceContainer(Level level, Hopper hopper, BlockPos pos, BlockState state) {
+        throw new AssertionError();
+    }
+
+    @Shadow
+    private static boolean isFullContainer(Container container, Direction direction) {
+        throw new AssertionError();
+    }
+
+    @Shadow
+    private static boolean canTakeItemFromContainer(Container source, Container destination, ItemStack stack, int slot, Direction direction) {
+        throw new AssertionError();
+    }
+
     @Inject(method = "setCooldown", at = @At("HEAD"), cancellable = true)
     private void aio$setCooldown(int cooldown, CallbackInfo ci) {
         if (AioMod.CONFIG.fastHoppersEnabled) {
@@ -21,4 +71,121 @@ public class HopperBlockEntityMixin {
             ci.cancel();
         }
     }
+
+    @Inject(method = "ejectItems", at = @At("HEAD"), cancellable = true)
+    private static void aio$ejectItems(Level level, BlockPos pos, HopperBlockEntity blockEntity, CallbackInfoReturnable<Boolean> cir) {
+        if (!AioMod.CONFIG.fastHoppersEnabled) return;
+
+        HopperBlockEntityMixin hopper = (HopperBlockEntityMixin) (Object) blockEntity;
+        int selfCount = ContainerChanges.countOf(blockEntity);
+
+        // Nothing changed since the last push failed
+        if (hopper.aio$idleTarget != null && selfCount == hopper.aio$idlePushCount
+                && ContainerChanges.isUnchanged(hopper.aio$idleTarget, hopper.aio$idleTargetCount)) {
+            cir.setReturnValue(false);
+            return;
+        }
+        hopper.aio$idleTarget = null;
+
+        Container target = getAttachedContainer(level, pos, blockEntity);
+        if (target == null) {
+            cir.setReturnValue(false);
+            return;
+        }
+
+        Direction direction = blockEntity.getBlockState().getValue(HopperBlock.FACING).getOpposite();
+        if (!isFullContainer(target, direction)) {
+            for (int slot = 0; slot < blockEntity.getContainerSize(); slot++) {
+                if (aio$moveBatch(blockEntity, slot, target, direction) > 0) {
+                    target.setChanged();
+                    cir.setReturnValue(true);
+                    return;
+                }
+            }
+        }
+
+        // Remember the failure, retried once either side changes
+        hopper.aio$idleTarget = target;
+        hopper.aio$idleTargetCount = ContainerChanges.countOf(target);
+        hopper.aio$idlePushCount = selfCount;
+        cir.setReturnValue(false);
+    }
+
+    @Inject(method = "suckInItems", at = @At("HEAD"), cancellable = true)
+    private static void aio$skipIdlePull(Level level, Hopper hopper, CallbackInfoReturnable<Boolean> cir) {
+        if (!AioMod.CONFIG.fastHoppersEnabled) return;
+        if (!(hopper instanceof HopperBlockEntity blockEntity)) return;
+
+        HopperBlockEntityMixin self = (HopperBlockEntityMixin) (Object) blockEntity;
+        if (self.aio$idleSource == null) return;
+
+        if (ContainerChanges.countOf(blockEntity) == self.aio$idlePullCount
+                && ContainerChanges.isUnchanged(self.aio$idleSource, self.aio$idleSourceCount)) {
+            cir.setReturnValue(false);
+            return;
+        }
+        self.aio$idleSource = null;
+    }
+
+    @Inject(method = "suckInItems", at = @At("RETURN"))
+    private static void aio$rememberIdlePull(Level level, Hopper hopper, CallbackInfoReturnable<Boolean> cir) {
+        if (!AioMod.CONFIG.fastHoppersEnabled || cir.getReturnValueZ()) return;
+        if (!(hopper instanceof HopperBlockEntity blockEntity)) return;
+
+        // Only a container above can be tracked, loose items may land at any time
+        BlockPos sourcePos = BlockPos.containing(hopper.getLevelX(), hopper.getLevelY() + 1.0, hopper.getLevelZ());
+        Container source = getSourceContainer(level, hopper, sourcePos, level.getBlockState(sourcePos));
+        if (source == null) return;
+
+        int sourceCount = ContainerChanges.countOf(source);
+        if (sourceCount == ContainerChanges.UNTRACKED) return;
+
+        HopperBlockEntityMixin self = (HopperBlockEntityMixin) (Object) blockEntity;
+        self.aio$idleSource = source;
+        self.aio$idleSourceCount = sourceCount;
+        self.aio$idlePullCount = ContainerChanges.countOf(blockEntity);
+    }
+
+    @Inject(method = "tryTakeInItemFromSlot", at = @At("HEAD"), cancellable = true)
+    private static void aio$tryTakeInItemFromSlot(Hopper hopper, Container container, int slot, Direction direction, CallbackInfoReturnable<Boolean> cir) {
+        if (!AioMod.CONFIG.fastHoppersEnabled) return;
+
+        ItemStack stack = container.getItem(slot);
+        if (stack.isEmpty() || !canTakeItemFromContainer(hopper, container, stack, slot, direction)) {
+            cir.setReturnValue(false);
+            return;
+        }
+
+        boolean moved = aio$moveBatch(container, slot, hopper, null) > 0;
+        if (moved) {
+            container.setChanged();
+        }
+        cir.setReturnValue(moved);
+    }
+
+    /**
+     * Move up to hopperItemsPerTransfer items of one slot, keeping whatever does not fit
+     *
+     * @return number of items moved
+     */
+    @Unique
+    private static int aio$moveBatch(Container from, int slot, Container to, Direction direction) {
+        ItemStack stack = from.getItem(slot);
+        if (stack.isEmpty()) return 0;
+
+        int amount = Math.min(stack.getCount(), Math.max(1, AioMod.CONFIG.hopperItemsPerTransfer));
+        ItemStack moving = from.removeItem(slot, amount);
+        int taken = moving.getCount();
+        ItemStack remainder = HopperBlockEntity.addItem(from, to, moving, direction);
+
+        if (!remainder.isEmpty()) {
+            ItemStack current = from.getItem(slot);
+            if (current.isEmpty()) {
+                from.setItem(slot, remainder);
+            } else {
+                current.grow(remainder.getCount());
+            }
+        }
+        return taken - remainder.getCount();
+    }
 }
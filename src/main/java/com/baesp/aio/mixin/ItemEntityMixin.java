@@ -0,0 +1,33 @@
+package com.baesp.aio.mixin;
+
+import com.baesp.aio.features.VoidMagnetManager;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.item.ItemEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to tell the Void Magnet when an item crosses into a new chunk section,
+ * so sleeping magnets in range can wake up without polling.
+ */
+@Mixin(ItemEntity.class)
+public class ItemEntityMixin {
+    @Unique
+    private long aio$lastCell = Long.MIN_VALUE;
+    
+    @Inject(method = "tick", at = @At("TAIL"))
+    private void aio$onTick(CallbackInfo ci) {
+        ItemEntity item = (ItemEntity) (Object) this;
+        
+        if (item.isRemoved() || !(item.level() instanceof ServerLevel level)) return;
+        
+        long cell = VoidMagnetManager.cellOf(item.blockPosition());
+        if (cell != aio$lastCell) {
+            aio$lastCell = cell;
+            VoidMagnetManager.onItemEnteredCell(level, cell);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.baesp.aio.mixin;
+
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.TickingBlockEntity;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.util.List;
+
+/**
+ * Accessor mixin for the level's ticking block entity list.
+ * Used by the sleep warp fast-forward to find furnaces, campfires and brewing stands.
+ */
+@Mixin(Level.class)
+public interface LevelBlockEntityTickersAccessor {
+
+    @Accessor("blockEntityTickers")
+    List<TickingBlockEntity> getBlockEntityTickers();
+
+}
@@ -0,0 +1,40 @@
+package com.baesp.aio.mixin;
+
+import com.baesp.aio.event.SneakStartEvent;
+import net.minecraft.network.protocol.game.ServerboundPlayerInputPacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to publish SneakStartEvent when the client's input packet turns shift on.
+ * The previous input is read just before the server stores the new one (already on
+ * the server thread), the event fires once the packet has been fully applied.
+ */
+@Mixin(ServerGamePacketListenerImpl.class)
+public class ServerGamePacketListenerImplMixin {
+    @Shadow
+    public ServerPlayer player;
+    
+    @Unique
+    private boolean aio$sneakStarted = false;
+    
+    @Inject(method = "handlePlayerInput", at = @At(value = "INVOKE",
+        target = "Lnet/minecraft/server/level/ServerPlayer;setLastClientInput(Lnet/minecraft/world/entity/player/Input;)V"))
+    private void aio$beforeInputStored(ServerboundPlayerInputPacket packet, CallbackInfo ci) {
+        aio$sneakStarted = packet.input().shift() && !player.getLastClientInput().shift();
+    }
+    
+    @Inject(method = "handlePlayerInput", at = @At("TAIL"))
+    private void aio$afterInputApplied(ServerboundPlayerInputPacket packet, CallbackInfo ci) {
+        if (aio$sneakStarted) {
+            aio$sneakStarted = false;
+            SneakStartEvent.EVENT.invoker().onSneakStart(player);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.baesp.aio.mixin;
+
+import com.baesp.aio.util.CropIndex;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to keep the crop index current. onBlockStateChange runs for every
+ * block set through the level, after the chunk has been updated.
+ */
+@Mixin(ServerLevel.class)
+public class ServerLevelBlockChangeMixin {
+    
+    @Inject(method = "onBlockStateChange", at = @At("HEAD"))
+    private void aio$onBlockStateChange(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo ci) {
+        CropIndex.onBlockChanged((ServerLevel) (Object) this, pos, oldState, newState);
+    }
+}
@@ -0,0 +1,18 @@
+package com.baesp.aio.mixin;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.Display;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+/**
+ * Accessor mixin for TextDisplay to invoke private setters.
+ * Used by the warp hub to fill in packet-only pad labels.
+ */
+@Mixin(Display.TextDisplay.class)
+public interface TextDisplayAccessor {
+
+    @Invoker("setText")
+    void invokeSetText(Component text);
+
+}
@@ -0,0 +1,33 @@
+package com.baesp.aio.mixin.client;
+
+import com.baesp.aio.client.SleepWarpClient;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.world.level.Level;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Mixin to extrapolate the day time during sleep warp, so the sky keeps moving
+ * smoothly between the server's time corrections.
+ */
+@Mixin(ClientLevel.class)
+public class ClientLevelMixin {
+    
+    @Shadow
+    @Final
+    private ClientLevel.ClientLevelData clientLevelData;
+    
+    @Inject(method = "tickTime", at = @At("TAIL"))
+    private void aio$extrapolateWarp(CallbackInfo ci) {
+        if (((ClientLevel) (Object) this).dimension() != Level.OVERWORLD) return;
+        
+        long extra = SleepWarpClient.nextExtraTicks();
+        if (extra > 0) {
+            clientLevelData.setDayTime(clientLevelData.getDayTime() + extra);
+        }
+    }
+}
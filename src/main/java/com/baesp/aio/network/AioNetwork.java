@@ -24,6 +24,7 @@ public class AioNetwork {
     public static final Identifier BUY_UPGRADE_ID = Identifier.fromNamespaceAndPath(AioMod.MOD_ID, "buy_upgrade");
     public static final Identifier ASCEND_ID = Identifier.fromNamespaceAndPath(AioMod.MOD_ID, "ascend");
     public static final Identifier CYCLE_TRADES_ID = Identifier.fromNamespaceAndPath(AioMod.MOD_ID, "cycle_trades");
+    public static final Identifier SLEEP_WARP_RATE_ID = Identifier.fromNamespaceAndPath(AioMod.MOD_ID, "sleep_warp_rate");
     
     // Request data packet (C2S)
     public record RequestDataPacket() implements CustomPacketPayload {
@@ -88,6 +89,20 @@ public class AioNetwork {
         }
     }
     
+    // Sleep warp rate packet (S2C) - extra day ticks per tick, the client advances its sky at this rate
+    public record SleepWarpRatePacket(float rate) implements CustomPacketPayload {
+        public static final Type<SleepWarpRatePacket> TYPE = new Type<>(SLEEP_WARP_RATE_ID);
+        public static final StreamCodec<FriendlyByteBuf, SleepWarpRatePacket> CODEC = StreamCodec.of(
+            (buf, packet) -> buf.writeFloat(packet.rate),
+            buf -> new SleepWarpRatePacket(buf.readFloat())
+        );
+        
+        @Override
+        public Type<? extends CustomPacketPayload> type() {
+            return TYPE;
+        }
+    }
+    
     // Toggle squat grow packet (C2S)
     public record ToggleSquatGrowPacket() implements CustomPacketPayload {
         public static final Type<ToggleSquatGrowPacket> TYPE = new Type<>(TOGGLE_SQUAT_GROW_ID);
@@ -175,6 +190,7 @@ public class AioNetwork {
         
         // Register S2C packet types
         PayloadTypeRegistry.playS2C().register(SyncDataPacket.TYPE, SyncDataPacket.CODEC);
+        PayloadTypeRegistry.playS2C().register(SleepWarpRatePacket.TYPE, SleepWarpRatePacket.CODEC);
         
         // Handle data request
         ServerPlayNetworking.registerGlobalReceiver(RequestDataPacket.TYPE, (packet, context) -> {
@@ -1,8 +1,10 @@
 package com.baesp.aio.network;
 
 import com.baesp.aio.AioMod;
+import com.baesp.aio.client.SleepWarpClient;
 import com.baesp.aio.client.gui.ClientDataCache;
 import com.baesp.aio.client.hud.HudRenderer;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
 
 public class AioNetworkClient {
@@ -34,6 +36,12 @@ public class AioNetworkClient {
             });
         });
         
+        // Sleep warp rate, the sky is advanced locally at this rate
+        ClientPlayNetworking.registerGlobalReceiver(AioNetwork.SleepWarpRatePacket.TYPE, (packet, context) -> {
+            context.client().execute(() -> SleepWarpClient.setWarpRate(packet.rate()));
+        });
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> SleepWarpClient.setWarpRate(0));
+        
         AioMod.LOGGER.info("AIO Network (Client) registered.");
     }
     
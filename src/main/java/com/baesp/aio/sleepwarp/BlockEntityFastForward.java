@@ -0,0 +1,183 @@
+package com.baesp.aio.sleepwarp;
+
+import com.baesp.aio.mixin.AbstractFurnaceBlockEntityAccessor;
+import com.baesp.aio.mixin.BrewingStandBlockEntityAccessor;
+import com.baesp.aio.mixin.CampfireBlockEntityAccessor;
+import com.baesp.aio.mixin.LevelBlockEntityTickersAccessor;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.NonNullList;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.crafting.CampfireCookingRecipe;
+import net.minecraft.world.item.crafting.RecipeManager;
+import net.minecraft.world.item.crafting.RecipeType;
+import net.minecraft.world.item.crafting.SingleRecipeInput;
+import net.minecraft.world.level.block.CampfireBlock;
+import net.minecraft.world.level.block.entity.AbstractFurnaceBlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BrewingStandBlockEntity;
+import net.minecraft.world.level.block.entity.CampfireBlockEntity;
+import net.minecraft.world.level.block.entity.TickingBlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.List;
+
+/**
+ * Sleep warp fast-forward for furnaces, campfires and brewing stands.
+ * 
+ * Between two events (an item finishing, fuel running out, a brew completing)
+ * these block entities only count timers up or down, so those ticks are
+ * skipped by adjusting the timers directly. The event ticks themselves run
+ * through the vanilla tick method, which keeps recipes, fuel, outputs and
+ * block states exactly vanilla. Cost is per event instead of per warped tick.
+ */
+public class BlockEntityFastForward {
+    
+    private static final RecipeManager.CachedCheck<SingleRecipeInput, CampfireCookingRecipe> CAMPFIRE_CHECK =
+        RecipeManager.createCheck(RecipeType.CAMPFIRE_COOKING);
+    
+    private static boolean suppressed = false;
+    
+    /**
+     * True while a warp step ticks block entities; the fast-forwarded types skip those ticks
+     */
+    public static boolean isSuppressed() {
+        return suppressed;
+    }
+    
+    /**
+     * One warp step of real block entity ticking, without the fast-forwarded types
+     */
+    public static void tickOthers(ServerLevel world) {
+        suppressed = true;
+        try {
+            world.tickBlockEntities();
+        } finally {
+            suppressed = false;
+        }
+    }
+    
+    /**
+     * Advance every ticking furnace, campfire and brewing stand by the given number of ticks
+     */
+    public static void advance(ServerLevel world, int ticks) {
+        if (ticks <= 0) return;
+        
+        List<TickingBlockEntity> tickers = ((LevelBlockEntityTickersAccessor) world).getBlockEntityTickers();
+        for (int i = 0; i < tickers.size(); i++) {
+            TickingBlockEntity ticker = tickers.get(i);
+            if (ticker.isRemoved()) continue;
+            
+            BlockPos pos = ticker.getPos();
+            if (!world.shouldTickBlocksAt(pos)) continue;
+            
+            BlockEntity blockEntity = world.getBlockEntity(pos);
+            if (blockEntity instanceof AbstractFurnaceBlockEntity furnace) {
+                advanceFurnace(world, pos, furnace, ticks);
+            } else if (blockEntity instanceof CampfireBlockEntity campfire) {
+                advanceCampfire(world, pos, campfire, ticks);
+            } else if (blockEntity instanceof BrewingStandBlockEntity brewingStand) {
+                advanceBrewingStand(world, pos, brewingStand, ticks);
+            }
+        }
+    }
+    
+    private static void advanceFurnace(ServerLevel world, BlockPos pos, AbstractFurnaceBlockEntity furnace, int ticks) {
+        AbstractFurnaceBlockEntityAccessor timers = (AbstractFurnaceBlockEntityAccessor) furnace;
+        int remaining = ticks;
+        boolean idle = false; // Burning but nothing cooked on the last real tick
+        
+        while (remaining > 0) {
+            int before = timers.getCookingTimer();
+            AbstractFurnaceBlockEntity.serverTick(world, pos, world.getBlockState(pos), furnace);
+            remaining--;
+            
+            int lit = timers.getLitTimeRemaining();
+            if (lit <= 0) {
+                // Out of fuel or nothing to smelt, progress cools down by 2 per tick
+                timers.setCookingTimer(Math.max(0, timers.getCookingTimer() - 2 * remaining));
+                break;
+            }
+            
+            int timer = timers.getCookingTimer();
+            int skip;
+            if (timer == before + 1) {
+                // Cooking: jump to the tick before the item finishes or the fuel runs out
+                skip = Math.min(remaining, Math.min(lit - 1, timers.getCookingTotalTime() - timer - 1));
+                timers.setCookingTimer(timer + Math.max(0, skip));
+                idle = false;
+            } else if (timer == 0 && idle) {
+                // Burning without anything it can smelt
+                skip = Math.min(remaining, lit - 1);
+            } else {
+                // An item just finished or cooking stopped, the next real tick tells which
+                idle = timer == 0;
+                continue;
+            }
+            
+            if (skip > 0) {
+                timers.setLitTimeRemaining(lit - skip);
+                remaining -= skip;
+            }
+        }
+        
+        furnace.setChanged();
+    }
+    
+    private static void advanceCampfire(ServerLevel world, BlockPos pos, CampfireBlockEntity campfire, int ticks) {
+        CampfireBlockEntityAccessor timers = (CampfireBlockEntityAccessor) campfire;
+        int[] progress = timers.getCookingProgress();
+        int[] time = timers.getCookingTime();
+        NonNullList<ItemStack> items = campfire.getItems();
+        BlockState state = world.getBlockState(pos);
+        
+        if (state.getValue(CampfireBlock.LIT)) {
+            // Count up to one tick short, the real cook tick adds the last one and drops the result
+            for (int i = 0; i < progress.length; i++) {
+                if (!items.get(i).isEmpty() && time[i] > 0) {
+                    progress[i] = Math.min(progress[i] + ticks - 1, time[i] - 1);
+                }
+            }
+            CampfireBlockEntity.cookTick(world, pos, state, campfire, CAMPFIRE_CHECK);
+        } else {
+            // Unlit campfires lose 2 progress per tick
+            for (int i = 0; i < progress.length; i++) {
+                if (progress[i] > 0) {
+                    progress[i] = Math.max(0, progress[i] - 2 * ticks);
+                }
+            }
+            campfire.setChanged();
+        }
+    }
+    
+    private static void advanceBrewingStand(ServerLevel world, BlockPos pos, BrewingStandBlockEntity brewingStand, int ticks) {
+        BrewingStandBlockEntityAccessor timers = (BrewingStandBlockEntityAccessor) brewingStand;
+        int remaining = ticks;
+        boolean brewing = false; // Brewing before the last real tick
+        
+        while (remaining > 0) {
+            BrewingStandBlockEntity.serverTick(world, pos, world.getBlockState(pos), brewingStand);
+            remaining--;
+            
+            int brewTime = timers.getBrewTime();
+            if (brewTime <= 0) {
+                // A brew just finished, the next real tick may use fuel and start another
+                if (brewing) {
+                    brewing = false;
+                    continue;
+                }
+                break; // Not brewing, nothing changes until the inventory does
+            }
+            brewing = true;
+            
+            // Jump to the tick before the brew completes
+            int skip = Math.min(remaining, brewTime - 1);
+            if (skip > 0) {
+                timers.setBrewTime(brewTime - skip);
+                remaining -= skip;
+            }
+        }
+        
+        brewingStand.setChanged();
+    }
+}
@@ -1,8 +1,19 @@
 package com.baesp.aio.sleepwarp;
 
 import com.baesp.aio.AioMod;
+import com.baesp.aio.network.AioNetwork;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Object2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.chat.Component;
 import net.minecraft.network.protocol.game.ClientboundSetTimePacket;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
@@ -16,24 +27,53 @@ import net.minecraft.world.level.block.Blocks;
 import net.minecraft.world.level.block.SnowLayerBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.gamerules.GameRules;
+import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.level.levelgen.Heightmap;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 
 public class SleepWarpManager {
     private static final int DAY_LENGTH_TICKS = 24000;
+    private static final int CHUNK_RADIUS = 3; // 7x7 chunks around each player
     private static final Random random = new Random();
     
+    // Adaptive speed: warp steps are limited to the time left in the tick
+    private static final int RATE_RAMP = 4;              // Extra steps allowed above the smoothed rate
+    private static final double RATE_SMOOTHING = 0.25;   // Weight of the latest tick in the smoothed rate
+    private static long tickStartNanos;
+    private static long stepNanos;                        // Moving average cost of one warp step
+    private static double warpRate;                       // Smoothed warp steps per tick
+    private static final Object2FloatOpenHashMap<ServerLevel> announcedRates = new Object2FloatOpenHashMap<>(); // Rate last sent per level
+    
+    // Chunk positions warped around players, rebuilt only when a player changes chunk
+    private static final LongOpenHashSet cachedChunks = new LongOpenHashSet();
+    private static final Object2LongOpenHashMap<UUID> cachedPlayerChunks = new Object2LongOpenHashMap<>();
+    
     public static void init() {
         if (!AioMod.CONFIG.sleepWarpEnabled) {
             AioMod.LOGGER.info("Sleep Warp system disabled in config.");
             return;
         }
         
+        ServerTickEvents.START_SERVER_TICK.register(server -> tickStartNanos = System.nanoTime());
         ServerTickEvents.END_WORLD_TICK.register(SleepWarpManager::onWorldTick);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> announcedRates.clear());
+        
+        // Clients arriving mid-warp need the current rate, leaving a warping level resets it
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            ServerPlayer player = handler.getPlayer();
+            if (announcedRates.getFloat(player.level()) != 0) {
+                sendRate(player, (ServerLevel) player.level());
+            }
+        });
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> 
+            sendRate(player, destination));
         
         AioMod.LOGGER.info("Sleep Warp system initialized.");
     }
@@ -52,7 +92,11 @@ public class SleepWarpManager {
             .filter(p -> p.isSleeping() && p.getSleepTimer() >= 100)
             .count();
         
-        if (sleepingCount == 0) return;
+        if (sleepingCount == 0) {
+            warpRate = 0;
+            announceRate(world, 0);
+            return;
+        }
         
         // Calculate warp speed
         int maxTicks = AioMod.CONFIG.sleepWarpMaxTicksAdded;
@@ -75,6 +119,8 @@ public class SleepWarpManager {
         }
         
         if (warpTickCount <= 0) {
+            announceRate(world, 0);
+            
             // Wake everyone up
             world.players().forEach(p -> {
                 if (p.isSleeping()) {
@@ -87,17 +133,18 @@ public class SleepWarpManager {
             return;
         }
         
-        // Collect valid chunks from player positions
-        List<LevelChunk> chunks = new ArrayList<>();
-        for (ServerPlayer player : allPlayers) {
-            ChunkPos chunkPos = player.chunkPosition();
-            for (int dx = -3; dx <= 3; dx++) {
-                for (int dz = -3; dz <= 3; dz++) {
-                    LevelChunk chunk = world.getChunk(chunkPos.x + dx, chunkPos.z + dz);
-                    if (chunk != null && !chunks.contains(chunk)) {
-                        chunks.add(chunk);
-                    }
-                }
+        // Collect ticking chunks around players (never loads or generates any)
+        if (!isChunkCacheValid(allPlayers)) {
+            rebuildChunkCache(allPlayers);
+        }
+        List<LevelChunk> chunks = new ArrayList<>(cachedChunks.size());
+        for (LongIterator it = cachedChunks.iterator(); it.hasNext(); ) {
+            long chunkPos = it.nextLong();
+            if (!world.shouldTickBlocksAt(chunkPos)) continue;
+            
+            LevelChunk chunk = world.getChunkSource().getChunkNow(ChunkPos.getX(chunkPos), ChunkPos.getZ(chunkPos));
+            if (chunk != null) {
+                chunks.add(chunk);
             }
         }
         Collections.shuffle(chunks);
@@ -105,76 +152,206 @@ public class SleepWarpManager {
         // Get daylight cycle game rule - daylight always enabled in overworld
         boolean doDaylightCycle = true; // Could check via world.getLevelData() if needed
         
-        for (int tick = 0; tick < warpTickCount; tick++) {
+        int randomTickSpeed = AioMod.CONFIG.sleepWarpTickRandomBlocks
+            ? world.getGameRules().get(GameRules.RANDOM_TICK_SPEED) : 0;
+        BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+        boolean fastForward = AioMod.CONFIG.sleepWarpTickBlockEntities
+            && "fast_forward".equalsIgnoreCase(AioMod.CONFIG.sleepWarpBlockEntityMode);
+        
+        // Only add as many steps as fit in what is left of this tick, ramping the rate smoothly
+        long tickNanos = world.getServer().tickRateManager().nanosecondsPerTick();
+        long deadline = tickStartNanos + (long) (tickNanos * AioMod.CONFIG.sleepWarpTickBudgetPercent / 100.0);
+        int stepLimit = Math.min(warpTickCount, (int) Math.ceil(warpRate) + RATE_RAMP);
+        
+        int steps = 0;
+        long warpStart = System.nanoTime();
+        for (int tick = 0; tick < stepLimit; tick++) {
+            // Always make progress, then stop once the next step would not fit
+            if (tick > 0 && System.nanoTime() + stepNanos > deadline) break;
+            steps++;
+            
             // Tick time
             if (doDaylightCycle) {
                 world.setDayTime(world.getDayTime() + 1);
             }
             
-            // Tick random blocks
-            if (AioMod.CONFIG.sleepWarpTickRandomBlocks) {
-                for (LevelChunk chunk : chunks) {
-                    tickRandomBlocks(world, chunk);
-                }
-            }
-            
             // Tick block entities
-            if (AioMod.CONFIG.sleepWarpTickBlockEntities) {
+            if (fastForward) {
+                BlockEntityFastForward.tickOthers(world);
+            } else if (AioMod.CONFIG.sleepWarpTickBlockEntities) {
                 world.tickBlockEntities();
             }
+        }
+        
+        // Random ticks for all warped ticks in one pass per section
+        if (randomTickSpeed > 0 && steps > 0) {
+            for (LevelChunk chunk : chunks) {
+                tickRandomBlocks(world, chunk, steps * randomTickSpeed, mutablePos);
+            }
+        }
+        
+        // Weather events over all warped ticks, counts drawn in bulk
+        if (world.isRaining() && steps > 0 && !chunks.isEmpty()) {
+            // Precipitation: 1 in 16 per chunk per tick, spread over random chunks
+            for (int events = binomial(steps * chunks.size(), 1.0 / 16); events > 0; events--) {
+                tickPrecipitation(world, chunks.get(random.nextInt(chunks.size())));
+            }
             
-            // Tick precipitation
-            if (world.isRaining()) {
-                for (LevelChunk chunk : chunks) {
-                    if (random.nextInt(16) == 0) {
-                        tickPrecipitation(world, chunk);
-                    }
+            // Lightning: 1 in 100000 per chunk per tick
+            if (AioMod.CONFIG.sleepWarpTickLightning && world.isThundering()) {
+                for (int strikes = binomial(steps * chunks.size(), 1.0 / 100000); strikes > 0; strikes--) {
+                    spawnLightning(world, chunks.get(random.nextInt(chunks.size())));
                 }
-                
-                // Lightning
-                if (AioMod.CONFIG.sleepWarpTickLightning && world.isThundering()) {
-                    for (LevelChunk chunk : chunks) {
-                        if (random.nextInt(100000) == 0) {
-                            spawnLightning(world, chunk);
-                        }
-                    }
+            }
+        }
+        
+        // Furnaces, campfires and brewing stands catch up on all warped ticks at once
+        if (fastForward) {
+            BlockEntityFastForward.advance(world, steps);
+        }
+        
+        if (steps > 0) {
+            stepNanos = (stepNanos * 3 + (System.nanoTime() - warpStart) / steps) / 4;
+        }
+        warpRate = warpRate * (1 - RATE_SMOOTHING) + steps * RATE_SMOOTHING;
+        
+        // Report the effective speed (normal tick plus warp steps)
+        if (world.getGameTime() % 20 == 0) {
+            Component message = Component.literal(String.format("§8[Sleep Warp] §7Time §f%.1fx", 1 + warpRate));
+            for (ServerPlayer player : allPlayers) {
+                if (player.isSleeping()) {
+                    player.displayClientMessage(message, true);
                 }
             }
         }
         
-        // Send time update packet
-        ClientboundSetTimePacket packet = new ClientboundSetTimePacket(
+        // Clients extrapolate the day time, vanilla's once-a-second time sync corrects them
+        announceRate(world, (float) warpRate);
+        
+        // Clients without the mod can't extrapolate, they still get the time every tick
+        ClientboundSetTimePacket packet = null;
+        for (ServerPlayer player : allPlayers) {
+            if (ServerPlayNetworking.canSend(player, AioNetwork.SleepWarpRatePacket.TYPE)) continue;
+            if (packet == null) {
+                packet = new ClientboundSetTimePacket(world.getGameTime(), world.getDayTime(), doDaylightCycle);
+            }
+            player.connection.send(packet);
+        }
+    }
+    
+    /**
+     * Tell clients the warp rate when it changes (in steps of 0.5), with a time correction
+     */
+    private static void announceRate(ServerLevel world, float rate) {
+        float rounded = Math.round(rate * 2) / 2f;
+        if (rounded == announcedRates.getFloat(world)) return;
+        announcedRates.put(world, rounded);
+        
+        AioNetwork.SleepWarpRatePacket ratePacket = new AioNetwork.SleepWarpRatePacket(rounded);
+        ClientboundSetTimePacket timePacket = new ClientboundSetTimePacket(
             world.getGameTime(),
             world.getDayTime(),
-            doDaylightCycle
+            true
         );
-        for (ServerPlayer player : allPlayers) {
-            player.connection.send(packet);
+        for (ServerPlayer player : world.players()) {
+            player.connection.send(timePacket);
+            if (ServerPlayNetworking.canSend(player, AioNetwork.SleepWarpRatePacket.TYPE)) {
+                ServerPlayNetworking.send(player, ratePacket);
+            }
         }
     }
     
-    private static void tickRandomBlocks(ServerLevel world, LevelChunk chunk) {
-        int randomTickSpeed = 3; // Default random tick speed
-        if (randomTickSpeed <= 0) return;
+    /**
+     * Send a player the warp rate currently announced in a level (0 when it isn't warping)
+     */
+    private static void sendRate(ServerPlayer player, ServerLevel world) {
+        if (ServerPlayNetworking.canSend(player, AioNetwork.SleepWarpRatePacket.TYPE)) {
+            ServerPlayNetworking.send(player, new AioNetwork.SleepWarpRatePacket(announcedRates.getFloat(world)));
+        }
+    }
+    
+    /**
+     * The cached chunk set stays valid until a player joins, leaves or crosses a chunk border
+     */
+    private static boolean isChunkCacheValid(List<ServerPlayer> players) {
+        if (cachedPlayerChunks.size() != players.size()) return false;
         
+        for (ServerPlayer player : players) {
+            long chunkPos = player.chunkPosition().toLong();
+            if (cachedPlayerChunks.getOrDefault(player.getUUID(), Long.MIN_VALUE) != chunkPos) return false;
+        }
+        return true;
+    }
+    
+    private static void rebuildChunkCache(List<ServerPlayer> players) {
+        cachedPlayerChunks.clear();
+        cachedChunks.clear();
+        
+        for (ServerPlayer player : players) {
+            ChunkPos chunkPos = player.chunkPosition();
+            cachedPlayerChunks.put(player.getUUID(), chunkPos.toLong());
+            
+            for (int dx = -CHUNK_RADIUS; dx <= CHUNK_RADIUS; dx++) {
+                for (int dz = -CHUNK_RADIUS; dz <= CHUNK_RADIUS; dz++) {
+                    cachedChunks.add(ChunkPos.asLong(chunkPos.x + dx, chunkPos.z + dz));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Random ticks like vanilla: randomTickSpeed samples per tick in every section that
+     * holds randomly ticking blocks or fluids, other sections are skipped entirely
+     */
+    private static void tickRandomBlocks(ServerLevel world, LevelChunk chunk, int samples, BlockPos.MutableBlockPos pos) {
         ChunkPos chunkPos = chunk.getPos();
         int startX = chunkPos.getMinBlockX();
         int startZ = chunkPos.getMinBlockZ();
         
-        for (int i = 0; i < randomTickSpeed; i++) {
-            int x = startX + random.nextInt(16);
-            int z = startZ + random.nextInt(16);
-            int y = random.nextInt(world.getHeight());
-            
-            BlockPos pos = new BlockPos(x, y, z);
-            BlockState state = world.getBlockState(pos);
+        LevelChunkSection[] sections = chunk.getSections();
+        for (int index = 0; index < sections.length; index++) {
+            LevelChunkSection section = sections[index];
+            if (!section.isRandomlyTicking()) continue;
             
-            if (state.isRandomlyTicking()) {
-                state.randomTick(world, pos, world.random);
+            int startY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(index));
+            for (int i = 0; i < samples; i++) {
+                int x = random.nextInt(16);
+                int y = random.nextInt(16);
+                int z = random.nextInt(16);
+                
+                BlockState state = section.getBlockState(x, y, z);
+                if (state.isRandomlyTicking()) {
+                    pos.set(startX + x, startY + y, startZ + z);
+                    state.randomTick(world, pos.immutable(), world.random);
+                }
+                
+                FluidState fluidState = state.getFluidState();
+                if (fluidState.isRandomlyTicking()) {
+                    pos.set(startX + x, startY + y, startZ + z);
+                    fluidState.randomTick(world, pos.immutable(), world.random);
+                }
             }
         }
     }
     
+    /**
+     * Number of successes in n trials of probability p, drawn in O(result) by
+     * jumping straight to each success (geometric gaps)
+     */
+    private static int binomial(int n, double p) {
+        if (n <= 0 || p <= 0) return 0;
+        if (p >= 1) return n;
+        
+        double logMiss = Math.log(1 - p);
+        int successes = 0;
+        long trial = 0;
+        while (true) {
+            trial += (long) (Math.log(1 - random.nextDouble()) / logMiss) + 1;
+            if (trial > n) return successes;
+            successes++;
+        }
+    }
+    
     private static void tickPrecipitation(ServerLevel world, LevelChunk chunk) {
         ChunkPos chunkPos = chunk.getPos();
         int x = chunkPos.getMinBlockX() + random.nextInt(16);
@@ -2,6 +2,11 @@ package com.baesp.aio.squat;
 
 import com.baesp.aio.AioMod;
 import com.baesp.aio.data.PlayerDataManager;
+import com.baesp.aio.event.SneakStartEvent;
+import com.baesp.aio.util.CropIndex;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
@@ -16,7 +21,10 @@ import net.minecraft.world.level.block.state.properties.IntegerProperty;
 
 import net.minecraft.util.RandomSource;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -24,16 +32,29 @@ public class SquatGrowManager {
     
     private static final Set<UUID> playersWithSquatGrowEnabled = new HashSet<>();
     
+    // Growth is paid from a per-player budget and applied later, a bounded amount per tick
+    private static final Map<UUID, GrowBudget> budgets = new HashMap<>();
+    private static final ArrayDeque<GrowTask> growQueue = new ArrayDeque<>();
+    
     public static void init() {
         if (!AioMod.CONFIG.squatGrowEnabled) {
             AioMod.LOGGER.info("Squat Grow system disabled in config.");
             return;
         }
         
+        SneakStartEvent.EVENT.register(SquatGrowManager::onPlayerCrouch);
+        ServerTickEvents.END_SERVER_TICK.register(server -> drainGrowQueue());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            growQueue.clear();
+            budgets.clear();
+        });
+        
         AioMod.LOGGER.info("Squat Grow system initialized.");
     }
     
     public static void onPlayerCrouch(ServerPlayer player) {
+        // Only a crouch on the ground counts (not sneaking down from flight)
+        if (!player.onGround()) return;
         performSquatGrow(player);
     }
     
@@ -47,60 +68,103 @@ public class SquatGrowManager {
         ServerLevel serverLevel = (ServerLevel) level;
         BlockPos playerPos = player.blockPosition();
         int range = AioMod.CONFIG.squatGrowRange;
-        int multiplier = AioMod.CONFIG.squatGrowMultiplier;
         double chance = AioMod.CONFIG.squatGrowChance;
         
         RandomSource random = serverLevel.getRandom();
         
-        // Iterate over nearby blocks
-        for (int dx = -range; dx <= range; dx++) {
-            for (int dy = -1; dy <= 2; dy++) {  // Increased dy range for taller plants
-                for (int dz = -range; dz <= range; dz++) {
-                    BlockPos pos = playerPos.offset(dx, dy, dz);
-                    BlockState state = serverLevel.getBlockState(pos);
-                    Block block = state.getBlock();
-                    
-                    // Handle sugarcane growth
-                    if (block == Blocks.SUGAR_CANE) {
-                        if (random.nextDouble() < chance) {
-                            growSugarcane(serverLevel, pos, random, multiplier);
-                        }
-                        continue;
-                    }
-                    
-                    // Handle pumpkin/melon stem acceleration
-                    if (block == Blocks.PUMPKIN_STEM || block == Blocks.MELON_STEM) {
-                        if (random.nextDouble() < chance) {
-                            accelerateStemGrowth(serverLevel, pos, state, random, multiplier);
-                        }
-                        continue;
-                    }
-                    
-                    // Check if it's a standard growable block (crops, etc.)
-                    if (block instanceof BonemealableBlock growable) {
-                        // Skip grass blocks - they spawn tall grass which is annoying
-                        if (block == Blocks.GRASS_BLOCK || block == Blocks.SHORT_GRASS || block == Blocks.TALL_GRASS) {
-                            continue;
-                        }
-                        try {
-                            if (growable.isValidBonemealTarget(serverLevel, pos, state)) {
-                                // Apply growth chance
-                                if (random.nextDouble() < chance) {
-                                    // Apply multiple growth attempts based on multiplier
-                                    for (int i = 0; i < multiplier; i++) {
-                                        if (growable.isBonemealSuccess(serverLevel, random, pos, state)) {
-                                            growable.performBonemeal(serverLevel, random, pos, state);
-                                            // Refresh state
-                                            state = serverLevel.getBlockState(pos);
-                                        }
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            // Skip this block if any error occurs (block doesn't support growth operation)
+        // Visit only the indexed crops nearby
+        LongArrayList crops = CropIndex.findInBox(serverLevel,
+            playerPos.getX() - range, playerPos.getY() - 1, playerPos.getZ() - range,
+            playerPos.getX() + range, playerPos.getY() + 2, playerPos.getZ() + range);  // Increased dy range for taller plants
+        
+        GrowBudget budget = budgets.computeIfAbsent(player.getUUID(), uuid -> new GrowBudget());
+        budget.refill(serverLevel.getGameTime());
+        
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < crops.size() && budget.tokens >= 1; i++) {
+            // Mature crops stay indexed, so skip them before they cost a token
+            pos.set(crops.getLong(i));
+            if (!canGrow(serverLevel, pos, serverLevel.getBlockState(pos))) continue;
+            
+            // Apply growth chance, each queued crop costs one token
+            if (random.nextDouble() < chance) {
+                budget.tokens--;
+                growQueue.add(new GrowTask(serverLevel, crops.getLong(i)));
+            }
+        }
+    }
+    
+    /**
+     * Whether a squat can still grow the crop at pos
+     */
+    private static boolean canGrow(ServerLevel level, BlockPos pos, BlockState state) {
+        Block block = state.getBlock();
+        
+        if (block == Blocks.SUGAR_CANE) {
+            return sugarcaneHeight(level, pos) < 3;
+        }
+        
+        if (block == Blocks.PUMPKIN_STEM || block == Blocks.MELON_STEM) {
+            if (!state.hasProperty(StemBlock.AGE)) return false;
+            return state.getValue(StemBlock.AGE) < 7 || hasFruitSpot(level, pos);
+        }
+        
+        if (block instanceof BonemealableBlock growable) {
+            try {
+                return growable.isValidBonemealTarget(level, pos, state);
+            } catch (Exception e) {
+                return false;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Apply queued growth within the per-tick budget
+     */
+    private static void drainGrowQueue() {
+        int multiplier = AioMod.CONFIG.squatGrowMultiplier;
+        
+        for (int applied = 0; applied < AioMod.CONFIG.squatGrowOpsPerTick && !growQueue.isEmpty(); applied++) {
+            GrowTask task = growQueue.poll();
+            BlockPos pos = BlockPos.of(task.pos());
+            if (!task.level().isLoaded(pos)) continue;
+            
+            growAt(task.level(), pos, task.level().getRandom(), multiplier);
+        }
+    }
+    
+    private static void growAt(ServerLevel serverLevel, BlockPos pos, RandomSource random, int multiplier) {
+        BlockState state = serverLevel.getBlockState(pos);
+        Block block = state.getBlock();
+        
+        // Handle sugarcane growth
+        if (block == Blocks.SUGAR_CANE) {
+            growSugarcane(serverLevel, pos, random, multiplier);
+            return;
+        }
+        
+        // Handle pumpkin/melon stem acceleration
+        if (block == Blocks.PUMPKIN_STEM || block == Blocks.MELON_STEM) {
+            accelerateStemGrowth(serverLevel, pos, state, random, multiplier);
+            return;
+        }
+        
+        // Check if it's a standard growable block (crops, etc.)
+        if (block instanceof BonemealableBlock growable) {
+            try {
+                if (growable.isValidBonemealTarget(serverLevel, pos, state)) {
+                    // Apply multiple growth attempts based on multiplier
+                    for (int i = 0; i < multiplier; i++) {
+                        if (growable.isBonemealSuccess(serverLevel, random, pos, state)) {
+                            growable.performBonemeal(serverLevel, random, pos, state);
+                            // Refresh state
+                            state = serverLevel.getBlockState(pos);
                         }
                     }
                 }
+            } catch (Exception e) {
+                // Skip this block if any error occurs (block doesn't support growth operation)
             }
         }
     }
@@ -115,12 +179,7 @@ public class SquatGrowManager {
             topPos = topPos.above();
         }
         
-        // Count current height
-        BlockPos bottomPos = pos;
-        while (level.getBlockState(bottomPos.below()).is(Blocks.SUGAR_CANE)) {
-            bottomPos = bottomPos.below();
-        }
-        int height = topPos.getY() - bottomPos.getY() + 1;
+        int height = sugarcaneHeight(level, pos);
         
         // Sugarcane can grow up to 3 blocks
         if (height < 3) {
@@ -138,6 +197,40 @@ public class SquatGrowManager {
         }
     }
     
+    /**
+     * Height of the sugarcane column containing pos
+     */
+    private static int sugarcaneHeight(ServerLevel level, BlockPos pos) {
+        BlockPos topPos = pos;
+        while (level.getBlockState(topPos.above()).is(Blocks.SUGAR_CANE)) {
+            topPos = topPos.above();
+        }
+        BlockPos bottomPos = pos;
+        while (level.getBlockState(bottomPos.below()).is(Blocks.SUGAR_CANE)) {
+            bottomPos = bottomPos.below();
+        }
+        return topPos.getY() - bottomPos.getY() + 1;
+    }
+    
+    /**
+     * Whether a mature stem has an adjacent spot where fruit could be placed
+     */
+    private static boolean hasFruitSpot(ServerLevel level, BlockPos pos) {
+        for (Direction dir : Direction.Plane.HORIZONTAL) {
+            if (isFruitSpot(level, pos.relative(dir))) return true;
+        }
+        return false;
+    }
+    
+    private static boolean isFruitSpot(ServerLevel level, BlockPos fruitPos) {
+        BlockState groundState = level.getBlockState(fruitPos.below());
+        return level.getBlockState(fruitPos).isAir() && 
+            (groundState.is(Blocks.FARMLAND) || groundState.is(Blocks.DIRT) || 
+             groundState.is(Blocks.GRASS_BLOCK) || groundState.is(Blocks.COARSE_DIRT) ||
+             groundState.is(Blocks.ROOTED_DIRT) || groundState.is(Blocks.PODZOL) ||
+             groundState.is(Blocks.MOSS_BLOCK));
+    }
+    
     /**
      * Accelerates pumpkin/melon stem growth and fruit generation
      */
@@ -168,14 +261,9 @@ public class SquatGrowManager {
             // Check adjacent positions for fruit placement
             for (Direction dir : Direction.Plane.HORIZONTAL) {
                 BlockPos fruitPos = pos.relative(dir);
-                BlockState groundState = level.getBlockState(fruitPos.below());
                 
                 // Check if position is valid for fruit
-                if (level.getBlockState(fruitPos).isAir() && 
-                    (groundState.is(Blocks.FARMLAND) || groundState.is(Blocks.DIRT) || 
-                     groundState.is(Blocks.GRASS_BLOCK) || groundState.is(Blocks.COARSE_DIRT) ||
-                     groundState.is(Blocks.ROOTED_DIRT) || groundState.is(Blocks.PODZOL) ||
-                     groundState.is(Blocks.MOSS_BLOCK))) {
+                if (isFruitSpot(level, fruitPos)) {
                     
                     // Random chance to spawn fruit
                     if (random.nextInt(4) == 0) {  // 25% chance per direction
@@ -211,4 +299,26 @@ public class SquatGrowManager {
             playersWithSquatGrowEnabled.add(player.getUUID());
         }
     }
+    
+    public static void onPlayerDisconnect(ServerPlayer player) {
+        budgets.remove(player.getUUID());
+    }
+    
+    /**
+     * Token bucket refilled at squatGrowOpsPerSecond, holding at most one second's worth
+     */
+    private static class GrowBudget {
+        double tokens = AioMod.CONFIG.squatGrowOpsPerSecond;
+        long lastTick = -1;
+        
+        void refill(long now) {
+            int perSecond = AioMod.CONFIG.squatGrowOpsPerSecond;
+            if (lastTick >= 0) {
+                tokens = Math.min(perSecond, tokens + (now - lastTick) * perSecond / 20.0);
+            }
+            lastTick = now;
+        }
+    }
+    
+    private record GrowTask(ServerLevel level, long pos) {}
 }
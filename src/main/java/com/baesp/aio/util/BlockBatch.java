@@ -0,0 +1,115 @@
+package com.baesp.aio.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.protocol.game.ClientboundSectionBlocksUpdatePacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+
+/**
+ * Applies many block changes at once with updates suppressed, then catches up in bulk.
+ * 
+ * Every change is written with UPDATE_KNOWN_SHAPE only, so no neighbour, shape or
+ * client update is sent per block. Afterwards:
+ * - one neighbour/shape pass runs for changed blocks on the edge of the batch only;
+ *   blocks surrounded by other changed blocks have nobody left to notify
+ * - one ClientboundSectionBlocksUpdatePacket per touched section goes to the
+ *   players tracking that chunk
+ * Lighting is left to the level's light engine, which already queues the checks
+ * from every change and processes them together.
+ */
+public class BlockBatch {
+    
+    private static final Direction[] DIRECTIONS = Direction.values();
+    
+    private final ServerLevel level;
+    private final Long2ObjectLinkedOpenHashMap<BlockState> changes = new Long2ObjectLinkedOpenHashMap<>();
+    
+    public BlockBatch(ServerLevel level) {
+        this.level = level;
+    }
+    
+    public void set(BlockPos pos, BlockState state) {
+        changes.put(pos.asLong(), state);
+    }
+    
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+    
+    /**
+     * Write all queued changes and send the consolidated updates
+     * 
+     * @return number of blocks that actually changed
+     */
+    public int apply() {
+        if (changes.isEmpty()) return 0;
+        
+        Long2ObjectOpenHashMap<BlockState> applied = new Long2ObjectOpenHashMap<>(); // pos -> previous state
+        Long2ObjectOpenHashMap<ShortSet> sections = new Long2ObjectOpenHashMap<>();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        
+        // Write every block without side effects
+        for (Long2ObjectMap.Entry<BlockState> entry : changes.long2ObjectEntrySet()) {
+            pos.set(entry.getLongKey());
+            BlockState previous = level.getBlockState(pos);
+            if (previous == entry.getValue()) continue;
+            if (!level.setBlock(pos, entry.getValue(), Block.UPDATE_KNOWN_SHAPE)) continue;
+            
+            applied.put(entry.getLongKey(), previous);
+            sections.computeIfAbsent(SectionPos.asLong(pos), key -> new ShortOpenHashSet())
+                .add(SectionPos.sectionRelativePos(pos));
+        }
+        
+        // One neighbour and shape pass, only where a changed block touches an unchanged one
+        BlockPos.MutableBlockPos neighbor = new BlockPos.MutableBlockPos();
+        for (Long2ObjectMap.Entry<BlockState> entry : applied.long2ObjectEntrySet()) {
+            pos.set(entry.getLongKey());
+            
+            boolean onEdge = false;
+            for (Direction direction : DIRECTIONS) {
+                neighbor.setWithOffset(pos, direction);
+                if (!applied.containsKey(neighbor.asLong())) {
+                    onEdge = true;
+                    break;
+                }
+            }
+            if (!onEdge) continue;
+            
+            BlockPos immutable = pos.immutable();
+            BlockState previous = entry.getValue();
+            BlockState current = changes.get(entry.getLongKey());
+            level.updateNeighborsAt(immutable, previous.getBlock());
+            previous.updateIndirectNeighbourShapes(level, immutable, Block.UPDATE_CLIENTS);
+            current.updateNeighbourShapes(level, immutable, Block.UPDATE_ALL);
+            current.updateIndirectNeighbourShapes(level, immutable, Block.UPDATE_CLIENTS);
+        }
+        
+        // One packet per touched section
+        for (Long2ObjectMap.Entry<ShortSet> entry : sections.long2ObjectEntrySet()) {
+            SectionPos sectionPos = SectionPos.of(entry.getLongKey());
+            LevelChunk chunk = level.getChunkSource().getChunkNow(sectionPos.x(), sectionPos.z());
+            if (chunk == null) continue;
+            
+            ClientboundSectionBlocksUpdatePacket packet = new ClientboundSectionBlocksUpdatePacket(
+                sectionPos, entry.getValue(), chunk.getSection(level.getSectionIndexFromSectionY(sectionPos.y()))
+            );
+            for (ServerPlayer player : level.getChunkSource().chunkMap.getPlayers(new ChunkPos(sectionPos.x(), sectionPos.z()), false)) {
+                player.connection.send(packet);
+            }
+        }
+        
+        changes.clear();
+        return applied.size();
+    }
+}
@@ -0,0 +1,220 @@
+package com.baesp.aio.util;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import java.util.function.Predicate;
+
+/**
+ * Reusable flood fill over block positions.
+ * 
+ * Positions are packed with BlockPos.asLong into an open-addressing set and a
+ * ring-buffer queue, so a search allocates nothing per visited block. Block states
+ * are read straight from the LevelChunkSection the search is currently in instead
+ * of going through the full chunk lookup for every neighbour. Unloaded chunks read
+ * as air and are never loaded by a search. A search can also run against a
+ * {@link SectionSnapshot} instead of a live level, off the server thread.
+ * 
+ * Searches can run in one go or be stepped against a deadline across several
+ * ticks. An instance keeps its buffers between searches and must only be used
+ * from one thread at a time.
+ */
+public class BlockFloodFill {
+    
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+    
+    // The 6 face neighbours
+    public static final int[][] FACES = {
+        {1, 0, 0}, {-1, 0, 0}, {0, 1, 0}, {0, -1, 0}, {0, 0, 1}, {0, 0, -1}
+    };
+    
+    private final LongOpenHashSet visited = new LongOpenHashSet();
+    private final LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+    private final LongArrayList found = new LongArrayList();
+    
+    // Per-search section cache, reading either a live level or a snapshot
+    private Level level;
+    private SectionSnapshot snapshot;
+    private long cachedChunkKey = Long.MAX_VALUE;
+    private LevelChunk cachedChunk;
+    private long cachedSectionKey = Long.MAX_VALUE;
+    private PalettedContainer<BlockState> cachedStates;
+    
+    // Current search
+    private int[][] offsets;
+    private Predicate<BlockState> matcher;
+    private int maxSize;
+    private int radius;
+    private int startX, startY, startZ;
+    
+    /**
+     * Find all positions connected to start through the given neighbour offsets whose
+     * state matches. The start position is always the first entry of the result.
+     * 
+     * @param radius maximum distance from start on any axis, or Integer.MAX_VALUE for none
+     * @return packed positions (BlockPos.asLong), owned by the caller
+     */
+    public LongArrayList search(Level level, BlockPos start, int[][] offsets, 
+                                Predicate<BlockState> matcher, int maxSize, int radius) {
+        start(level, start, offsets, matcher, maxSize, radius);
+        step(Long.MAX_VALUE);
+        LongArrayList result = result();
+        end();
+        return result;
+    }
+    
+    /**
+     * Same as {@link #search(Level, BlockPos, int[][], Predicate, int, int)}, but reading
+     * a snapshot. Safe to call from a worker thread; positions outside the snapshot read as air.
+     */
+    public LongArrayList search(SectionSnapshot snapshot, BlockPos start, int[][] offsets, 
+                                Predicate<BlockState> matcher, int maxSize, int radius) {
+        start(null, start, offsets, matcher, maxSize, radius);
+        this.snapshot = snapshot;
+        step(Long.MAX_VALUE);
+        LongArrayList result = result();
+        end();
+        return result;
+    }
+    
+    /**
+     * Begin an incremental search. Drive it with {@link #step(long)} until it
+     * returns true, then collect {@link #result()}.
+     */
+    public void start(Level level, BlockPos start, int[][] offsets, 
+                      Predicate<BlockState> matcher, int maxSize, int radius) {
+        this.level = level;
+        this.snapshot = null;
+        this.offsets = offsets;
+        this.matcher = matcher;
+        this.maxSize = maxSize;
+        this.radius = radius;
+        this.startX = start.getX();
+        this.startY = start.getY();
+        this.startZ = start.getZ();
+        
+        visited.clear();
+        queue.clear();
+        found.clear();
+        
+        long startKey = start.asLong();
+        visited.add(startKey);
+        queue.enqueue(startKey);
+        found.add(startKey);
+    }
+    
+    /**
+     * Expand the current search until it completes or the deadline passes.
+     * The section cache is rebuilt on every call, so the world may change between steps.
+     * 
+     * @param deadlineNanos System.nanoTime() value to stop at, or Long.MAX_VALUE for none
+     * @return true once the search is complete
+     */
+    public boolean step(long deadlineNanos) {
+        resetCache();
+        int probes = 0;
+        
+        while (!queue.isEmpty() && found.size() < maxSize) {
+            // Checking the clock is not free, so only do it every so often
+            if ((++probes & 63) == 0 && System.nanoTime() >= deadlineNanos) {
+                return false;
+            }
+            
+            long current = queue.dequeueLong();
+            int x = BlockPos.getX(current);
+            int y = BlockPos.getY(current);
+            int z = BlockPos.getZ(current);
+            
+            for (int[] offset : offsets) {
+                int nx = x + offset[0];
+                int ny = y + offset[1];
+                int nz = z + offset[2];
+                
+                if (Math.abs(nx - startX) > radius || Math.abs(ny - startY) > radius || 
+                    Math.abs(nz - startZ) > radius) {
+                    continue;
+                }
+                
+                long key = BlockPos.asLong(nx, ny, nz);
+                if (!visited.add(key)) continue;
+                
+                if (matcher.test(getBlockState(nx, ny, nz))) {
+                    found.add(key);
+                    queue.enqueue(key);
+                    if (found.size() >= maxSize) break;
+                }
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Positions found so far, as a copy owned by the caller
+     */
+    public LongArrayList result() {
+        return new LongArrayList(found);
+    }
+    
+    /**
+     * Start reading block states from a level through the section cache.
+     * Pair with {@link #end()} once done so the cached sections can be released.
+     */
+    public void begin(Level level) {
+        this.level = level;
+        this.snapshot = null;
+        resetCache();
+    }
+    
+    public void end() {
+        begin(null);
+    }
+    
+    private void resetCache() {
+        this.cachedChunkKey = Long.MAX_VALUE;
+        this.cachedChunk = null;
+        this.cachedSectionKey = Long.MAX_VALUE;
+        this.cachedStates = null;
+    }
+    
+    /**
+     * Read a block state through the section cache. Only valid between begin and end.
+     */
+    public BlockState getBlockState(int x, int y, int z) {
+        int sectionX = SectionPos.blockToSectionCoord(x);
+        int sectionY = SectionPos.blockToSectionCoord(y);
+        int sectionZ = SectionPos.blockToSectionCoord(z);
+        long sectionKey = SectionPos.asLong(sectionX, sectionY, sectionZ);
+        
+        if (sectionKey != cachedSectionKey) {
+            cachedSectionKey = sectionKey;
+            cachedStates = snapshot != null ? snapshot.getStates(sectionKey) : loadStates(sectionX, y, sectionZ);
+        }
+        
+        return cachedStates == null ? AIR : cachedStates.get(x & 15, y & 15, z & 15);
+    }
+    
+    private PalettedContainer<BlockState> loadStates(int chunkX, int y, int chunkZ) {
+        if (level.isOutsideBuildHeight(y)) return null;
+        
+        long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+        if (chunkKey != cachedChunkKey) {
+            cachedChunkKey = chunkKey;
+            cachedChunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+        }
+        if (cachedChunk == null) return null;
+        
+        LevelChunkSection section = cachedChunk.getSection(level.getSectionIndex(y));
+        return section.hasOnlyAir() ? null : section.getStates();
+    }
+}
@@ -0,0 +1,15 @@
+package com.baesp.aio.util;
+
+/**
+ * Implemented on every block entity by mixin: counts setChanged() calls,
+ * so a caller can tell cheaply whether a container changed since it last looked.
+ */
+public interface ChangeCounted {
+    
+    int getAioChangeCount();
+    
+    /**
+     * Count a change made without going through setChanged()
+     */
+    void markAioChanged();
+}
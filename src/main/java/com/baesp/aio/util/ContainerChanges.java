@@ -0,0 +1,38 @@
+package com.baesp.aio.util;
+
+import com.baesp.aio.mixin.CompoundContainerAccessor;
+import net.minecraft.world.CompoundContainer;
+import net.minecraft.world.Container;
+import net.minecraft.world.level.block.entity.BlockEntity;
+
+/**
+ * Change tracking for containers backed by block entities (including double chests).
+ * Containers that are not block entities, like minecarts, are never considered unchanged.
+ */
+public class ContainerChanges {
+    
+    public static final int UNTRACKED = -1;
+    
+    /**
+     * Current change count, or UNTRACKED if the container can't be tracked
+     */
+    public static int countOf(Container container) {
+        if (container instanceof BlockEntity blockEntity) {
+            return blockEntity.isRemoved() ? UNTRACKED : ((ChangeCounted) blockEntity).getAioChangeCount();
+        }
+        if (container instanceof CompoundContainer compound) {
+            CompoundContainerAccessor halves = (CompoundContainerAccessor) compound;
+            int first = countOf(halves.getContainer1());
+            int second = countOf(halves.getContainer2());
+            return first == UNTRACKED || second == UNTRACKED ? UNTRACKED : first + second;
+        }
+        return UNTRACKED;
+    }
+    
+    /**
+     * True if the container still exists and has not changed since the given count was taken
+     */
+    public static boolean isUnchanged(Container container, int count) {
+        return count != UNTRACKED && countOf(container) == count;
+    }
+}
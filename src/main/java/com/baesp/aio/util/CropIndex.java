@@ -0,0 +1,159 @@
+package com.baesp.aio.util;
+
+import com.baesp.aio.AioMod;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.shorts.ShortIterator;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.BonemealableBlock;
+import net.minecraft.world.level.block.NetherWartBlock;
+import net.minecraft.world.level.block.StemBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Index of growable blocks (crops, stems, sugar cane, saplings...) per chunk section,
+ * so farm features can visit the real crops in range instead of probing every position.
+ * 
+ * - Each section stores its crops as packed section-relative shorts
+ * - A section is scanned on first query; sections whose palette holds no
+ *   growable state are skipped without reading a single block
+ * - Kept current by a hook on every server block change, dropped on chunk unload
+ */
+public class CropIndex {
+    
+    /** Blocks tracked by the index */
+    public static final Predicate<BlockState> GROWABLE = state -> {
+        Block block = state.getBlock();
+        if (block == Blocks.SUGAR_CANE || block instanceof StemBlock || block instanceof NetherWartBlock) return true;
+        // Grass would fill the index with every field, nothing grows it on purpose
+        if (block == Blocks.GRASS_BLOCK || block == Blocks.SHORT_GRASS || block == Blocks.TALL_GRASS) return false;
+        return block instanceof BonemealableBlock;
+    };
+    
+    private static final ShortOpenHashSet EMPTY = new ShortOpenHashSet(0);
+    
+    private static final Map<ServerLevel, Long2ObjectOpenHashMap<ShortOpenHashSet>> INDEXES = new HashMap<>();
+    
+    public static void register() {
+        ServerChunkEvents.CHUNK_UNLOAD.register((level, chunk) -> {
+            Long2ObjectOpenHashMap<ShortOpenHashSet> sections = INDEXES.get(level);
+            if (sections == null || sections.isEmpty()) return;
+            
+            int chunkX = chunk.getPos().x;
+            int chunkZ = chunk.getPos().z;
+            for (int sectionY = level.getMinSectionY(); sectionY <= level.getMaxSectionY(); sectionY++) {
+                sections.remove(SectionPos.asLong(chunkX, sectionY, chunkZ));
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> INDEXES.clear());
+        
+        AioMod.LOGGER.info("Crop Index registered.");
+    }
+    
+    /**
+     * Block change hook, called for every block set through the server level
+     */
+    public static void onBlockChanged(ServerLevel level, BlockPos pos, BlockState oldState, BlockState newState) {
+        boolean wasGrowable = GROWABLE.test(oldState);
+        boolean isGrowable = GROWABLE.test(newState);
+        if (wasGrowable == isGrowable) return;
+        
+        Long2ObjectOpenHashMap<ShortOpenHashSet> sections = INDEXES.get(level);
+        if (sections == null) return;
+        
+        long sectionKey = SectionPos.asLong(pos);
+        ShortOpenHashSet crops = sections.get(sectionKey);
+        if (crops == null) return; // Not built yet, the first query will scan it
+        
+        if (isGrowable) {
+            if (crops == EMPTY) {
+                crops = new ShortOpenHashSet();
+                sections.put(sectionKey, crops);
+            }
+            crops.add(SectionPos.sectionRelativePos(pos));
+        } else if (crops != EMPTY) {
+            crops.remove(SectionPos.sectionRelativePos(pos));
+        }
+    }
+    
+    /**
+     * Packed positions of all growable blocks inside the box (inclusive), in loaded chunks.
+     * The list is a copy, so the world may be changed while walking it.
+     */
+    public static LongArrayList findInBox(ServerLevel level, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        LongArrayList result = new LongArrayList();
+        Long2ObjectOpenHashMap<ShortOpenHashSet> sections = INDEXES.computeIfAbsent(level, l -> new Long2ObjectOpenHashMap<>());
+        
+        minY = Math.max(minY, level.getMinY());
+        maxY = Math.min(maxY, level.getMaxY());
+        
+        for (int sectionX = SectionPos.blockToSectionCoord(minX); sectionX <= SectionPos.blockToSectionCoord(maxX); sectionX++) {
+            for (int sectionZ = SectionPos.blockToSectionCoord(minZ); sectionZ <= SectionPos.blockToSectionCoord(maxZ); sectionZ++) {
+                LevelChunk chunk = null;
+                
+                for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); sectionY++) {
+                    long sectionKey = SectionPos.asLong(sectionX, sectionY, sectionZ);
+                    ShortOpenHashSet crops = sections.get(sectionKey);
+                    
+                    if (crops == null) {
+                        if (chunk == null) {
+                            chunk = level.getChunkSource().getChunkNow(sectionX, sectionZ);
+                            if (chunk == null) break; // Not loaded, nothing to find
+                        }
+                        crops = scanSection(chunk.getSection(level.getSectionIndexFromSectionY(sectionY)));
+                        sections.put(sectionKey, crops);
+                    }
+                    if (crops.isEmpty()) continue;
+                    
+                    int baseX = SectionPos.sectionToBlockCoord(sectionX);
+                    int baseY = SectionPos.sectionToBlockCoord(sectionY);
+                    int baseZ = SectionPos.sectionToBlockCoord(sectionZ);
+                    for (ShortIterator it = crops.iterator(); it.hasNext(); ) {
+                        short packed = it.nextShort();
+                        int x = baseX + SectionPos.sectionRelativeX(packed);
+                        int y = baseY + SectionPos.sectionRelativeY(packed);
+                        int z = baseZ + SectionPos.sectionRelativeZ(packed);
+                        if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                            result.add(BlockPos.asLong(x, y, z));
+                        }
+                    }
+                }
+            }
+        }
+        
+        return result;
+    }
+    
+    private static ShortOpenHashSet scanSection(LevelChunkSection section) {
+        if (section.hasOnlyAir()) return EMPTY;
+        
+        PalettedContainer<BlockState> states = section.getStates();
+        if (!states.maybeHas(GROWABLE)) return EMPTY; // Palette check, no block reads
+        
+        ShortOpenHashSet crops = new ShortOpenHashSet();
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (GROWABLE.test(states.get(x, y, z))) {
+                        crops.add((short) (x << 8 | z << 4 | y));
+                    }
+                }
+            }
+        }
+        return crops.isEmpty() ? EMPTY : crops;
+    }
+}
@@ -0,0 +1,85 @@
+package com.baesp.aio.util;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects item drops from many blocks and merges identical stacks, so they can be
+ * handed to a player in one go instead of spawning an ItemEntity per drop.
+ * Whatever does not fit in the inventory is spawned as a few full stacks.
+ */
+public class DropCollector {
+    
+    private final List<ItemStack> kinds = new ArrayList<>(); // One count-1 prototype per distinct item
+    private final IntArrayList counts = new IntArrayList();
+    
+    public void add(ItemStack stack) {
+        if (stack.isEmpty()) return;
+        
+        for (int i = 0; i < kinds.size(); i++) {
+            if (ItemStack.isSameItemSameComponents(kinds.get(i), stack)) {
+                counts.set(i, counts.getInt(i) + stack.getCount());
+                return;
+            }
+        }
+        kinds.add(stack.copyWithCount(1));
+        counts.add(stack.getCount());
+    }
+    
+    public boolean isEmpty() {
+        return kinds.isEmpty();
+    }
+    
+    /**
+     * Move as much as fits into the player's inventory. The rest stays collected.
+     */
+    public void giveTo(ServerPlayer player) {
+        for (int i = kinds.size() - 1; i >= 0; i--) {
+            ItemStack kind = kinds.get(i);
+            int count = counts.getInt(i);
+            
+            while (count > 0) {
+                ItemStack stack = kind.copyWithCount(Math.min(count, kind.getMaxStackSize()));
+                int offered = stack.getCount();
+                player.getInventory().add(stack);
+                count -= offered - stack.getCount();
+                if (!stack.isEmpty()) break; // Inventory is full for this item
+            }
+            
+            if (count > 0) {
+                counts.set(i, count);
+            } else {
+                kinds.remove(i);
+                counts.removeInt(i);
+            }
+        }
+    }
+    
+    /**
+     * Spawn everything still collected at a block as full stacks
+     */
+    public void spawnAt(ServerLevel level, BlockPos pos) {
+        for (int i = 0; i < kinds.size(); i++) {
+            ItemStack kind = kinds.get(i);
+            int count = counts.getInt(i);
+            
+            while (count > 0) {
+                int size = Math.min(count, kind.getMaxStackSize());
+                ItemEntity item = new ItemEntity(level, pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, 
+                    kind.copyWithCount(size));
+                item.setDefaultPickUpDelay();
+                level.addFreshEntity(item);
+                count -= size;
+            }
+        }
+        kinds.clear();
+        counts.clear();
+    }
+}
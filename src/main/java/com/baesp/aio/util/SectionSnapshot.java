@@ -0,0 +1,60 @@
+package com.baesp.aio.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+
+/**
+ * Immutable copy of the block states in a cube of chunk sections.
+ * 
+ * Section states are paletted, so copying them is cheap compared to probing
+ * block by block. The copy can then be read from any thread while the server
+ * keeps ticking the real world. Air-only and unloaded sections are not stored
+ * and read back as null.
+ */
+public class SectionSnapshot {
+    
+    private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+    
+    private SectionSnapshot() {
+    }
+    
+    /**
+     * Copy every loaded section within the given section radius of a block.
+     * Must be called on the server thread.
+     */
+    public static SectionSnapshot capture(ServerLevel level, BlockPos center, int radius) {
+        SectionSnapshot snapshot = new SectionSnapshot();
+        
+        int centerX = SectionPos.blockToSectionCoord(center.getX());
+        int centerY = SectionPos.blockToSectionCoord(center.getY());
+        int centerZ = SectionPos.blockToSectionCoord(center.getZ());
+        int minY = Math.max(level.getMinSectionY(), centerY - radius);
+        int maxY = Math.min(level.getMaxSectionY(), centerY + radius);
+        
+        for (int chunkX = centerX - radius; chunkX <= centerX + radius; chunkX++) {
+            for (int chunkZ = centerZ - radius; chunkZ <= centerZ + radius; chunkZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                if (chunk == null) continue;
+                
+                for (int sectionY = minY; sectionY <= maxY; sectionY++) {
+                    LevelChunkSection section = chunk.getSection(level.getSectionIndexFromSectionY(sectionY));
+                    if (section.hasOnlyAir()) continue;
+                    
+                    snapshot.sections.put(SectionPos.asLong(chunkX, sectionY, chunkZ), section.getStates().copy());
+                }
+            }
+        }
+        
+        return snapshot;
+    }
+    
+    public PalettedContainer<BlockState> getStates(long sectionKey) {
+        return sections.get(sectionKey);
+    }
+}
@@ -8,19 +8,42 @@ import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.NbtAccounter;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket;
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket;
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.resources.Identifier;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.level.TicketType;
+import net.minecraft.world.entity.Display;
 import net.minecraft.world.entity.EntitySpawnReason;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.decoration.ArmorStand;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import com.baesp.aio.mixin.DisplayAccessor;
+import com.baesp.aio.mixin.TextDisplayAccessor;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.loader.api.FabricLoader;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.ints.IntRBTreeSet;
+import it.unimi.dsi.fastutil.ints.IntSortedSet;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -53,82 +76,158 @@ public class WarpManager {
         Identifier.parse("aio:warp_hub")
     );
     
-    // Player warps: UUID -> List of Warps
-    private static final Map<UUID, List<WarpPoint>> PLAYER_WARPS = new ConcurrentHashMap<>();
+    // Player warps: UUID -> Warps by case-folded name, in creation order
+    private static final Map<UUID, WarpIndex> PLAYER_WARPS = new ConcurrentHashMap<>();
     
     // Previous locations (before entering warp hub)
     private static final Map<UUID, PreviousLocation> PREVIOUS_LOCATIONS = new ConcurrentHashMap<>();
     
-    // Portal positions for collision detection: stores which portal is at each position
-    // Map of player UUID -> Map of BlockPos -> portal index (-1 = previous location)
-    private static final Map<UUID, Map<BlockPos, Integer>> PORTAL_POSITIONS = new ConcurrentHashMap<>();
+    // Portal positions for collision detection: stores which portal covers each floor block
+    // Map of player UUID -> packed floor BlockPos -> portal index (-1 = previous location)
+    private static final Map<UUID, Long2IntMap> PORTAL_POSITIONS = new ConcurrentHashMap<>();
+    private static final int NO_PORTAL = Integer.MIN_VALUE;
+    
+    // Entity ids of the packet-only pad labels each player was sent
+    private static final Map<UUID, IntList> SENT_LABELS = new ConcurrentHashMap<>();
+    
+    // Last block position each hub visitor was checked at, portals are only looked up on change
+    private static final Object2LongMap<UUID> LAST_HUB_POSITIONS = new Object2LongOpenHashMap<>();
     
     // Cooldown to prevent teleport spam
     private static final Map<UUID, Long> TELEPORT_COOLDOWN = new ConcurrentHashMap<>();
     private static final long COOLDOWN_MS = 1000; // 1 second cooldown
     
     private static Path DATA_DIR;
+    private static Path HUB_DATA_FILE;
     private static final int PLATFORM_Y = 64;
     private static final double PORTAL_RADIUS = 6.0;
     
+    // Bump when the static hub layout changes, each plot is rebuilt once on its next visit
+    private static final int HUB_STRUCTURE_VERSION = 3;
+    
+    // Every visitor gets their own copy of the hub on a grid of plots
+    private static final int PLOT_SPACING = 512;
+    private static final int PLOTS_PER_ROW = 64;
+    private static final int PLOT_CHUNK_RADIUS = 2;
+    private static final long PLOT_IDLE_TIMEOUT_MS = 5 * 60 * 1000; // Plot is recycled 5 minutes after its owner left the hub
+    
+    private static final Int2ObjectMap<HubPlot> PLOTS = new Int2ObjectOpenHashMap<>();
+    private static final Map<UUID, HubPlot> PLAYER_PLOTS = new HashMap<>();
+    private static final IntSortedSet FREE_PLOTS = new IntRBTreeSet();
+    
+    // Platform and decorations relative to a plot's origin, built once and stamped into each plot
+    private static List<Map.Entry<BlockPos, BlockState>> hubTemplate;
+    
     public static void init() {
         // Register tick event for portal collision detection
         ServerTickEvents.END_SERVER_TICK.register(server -> {
-            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-                if (isInWarpHub(player)) {
+            ServerLevel warpHub = server.getLevel(WARP_HUB);
+            if (warpHub != null && !warpHub.players().isEmpty()) {
+                // Copy, a portal moves the player out of the hub
+                for (ServerPlayer player : List.copyOf(warpHub.players())) {
                     checkPortalCollision(player);
                 }
             }
+            
+            if (server.getTickCount() % 20 == 0) {
+                updatePlots(server);
+            }
+        });
+        
+        // Players who logged out in the hub come back to their own plot
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
+            ServerPlayer player = handler.getPlayer();
+            server.execute(() -> onPlayerJoin(player));
+        });
+        
+        // The client starts a fresh level on every dimension change, pad labels have to be resent
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> {
+            if (origin.dimension().equals(WARP_HUB)) {
+                SENT_LABELS.remove(player.getUUID());
+            }
+            if (destination.dimension().equals(WARP_HUB)) {
+                restoreHubSession(player);
+            }
         });
         
         AioMod.LOGGER.info("Warp Manager initialized.");
     }
     
+    /**
+     * Players who log in inside the hub get their plot back, or are sent to spawn without one
+     */
+    private static void onPlayerJoin(ServerPlayer player) {
+        if (!isInWarpHub(player)) return;
+        
+        if (!restoreHubSession(player)) {
+            // No plot of their own (lost data), don't leave them on someone else's
+            teleportToOverworldSpawn(player);
+        }
+    }
+    
+    /**
+     * Give a player arriving in the hub with a fresh client level their plot's ticket,
+     * portal index and pad labels back
+     *
+     * @return false if the player has no plot
+     */
+    private static boolean restoreHubSession(ServerPlayer player) {
+        HubPlot plot = PLAYER_PLOTS.get(player.getUUID());
+        if (plot == null) return false;
+        
+        // Labels sent before are gone with the old client level
+        SENT_LABELS.remove(player.getUUID());
+        
+        ServerLevel warpHub = (ServerLevel) player.level();
+        claimPlot(warpHub, player);
+        if (!PORTAL_POSITIONS.containsKey(player.getUUID())) {
+            buildWarpHubPlatform(warpHub, player, plot);
+        }
+        sendPadLabels(player, plot);
+        return true;
+    }
+    
     /**
      * Check if player is standing on a portal and teleport them
      */
     private static void checkPortalCollision(ServerPlayer player) {
         UUID uuid = player.getUUID();
-        Map<BlockPos, Integer> portals = PORTAL_POSITIONS.get(uuid);
+        Long2IntMap portals = PORTAL_POSITIONS.get(uuid);
         if (portals == null || portals.isEmpty()) return;
         
-        // Check cooldown
+        // Only look again once the player moved to another block
+        BlockPos playerPos = player.blockPosition();
+        long packedPos = playerPos.asLong();
+        if (LAST_HUB_POSITIONS.getLong(uuid) == packedPos) return;
+        
+        // Check cooldown, without caching the position so the pad is tried again afterwards
         Long lastTeleport = TELEPORT_COOLDOWN.get(uuid);
         if (lastTeleport != null && System.currentTimeMillis() - lastTeleport < COOLDOWN_MS) {
             return;
         }
-        
-        // Get player's feet position
-        BlockPos playerPos = player.blockPosition();
+        LAST_HUB_POSITIONS.put(uuid, packedPos);
         
         // Check if player is on any portal pad (check the block they're standing on)
-        for (Map.Entry<BlockPos, Integer> entry : portals.entrySet()) {
-            BlockPos portalPos = entry.getKey();
-            // Check if player is within the 3x3 portal area at floor level
-            if (Math.abs(playerPos.getX() - portalPos.getX()) <= 1 &&
-                Math.abs(playerPos.getZ() - portalPos.getZ()) <= 1 &&
-                playerPos.getY() == PLATFORM_Y + 1) {
-                
-                int portalIndex = entry.getValue();
-                TELEPORT_COOLDOWN.put(uuid, System.currentTimeMillis());
-                
-                if (portalIndex == -1) {
-                    // Previous location portal
-                    returnToPreviousLocation(player);
-                } else if (portalIndex == -2) {
-                    // Home Dimension portal
-                    HomeManager.teleportToHome(player);
-                } else if (portalIndex == -3) {
-                    // Overworld Spawn portal
-                    teleportToOverworldSpawn(player);
-                } else {
-                    // Player warp portal
-                    List<WarpPoint> warps = getWarps(player);
-                    if (portalIndex >= 0 && portalIndex < warps.size()) {
-                        teleportToWarpPoint(player, warps.get(portalIndex));
-                    }
-                }
-                return;
+        if (playerPos.getY() != PLATFORM_Y + 1) return;
+        int portalIndex = portals.get(BlockPos.asLong(playerPos.getX(), PLATFORM_Y, playerPos.getZ()));
+        if (portalIndex == NO_PORTAL) return;
+        
+        TELEPORT_COOLDOWN.put(uuid, System.currentTimeMillis());
+        
+        if (portalIndex == -1) {
+            // Previous location portal
+            returnToPreviousLocation(player);
+        } else if (portalIndex == -2) {
+            // Home Dimension portal
+            HomeManager.teleportToHome(player);
+        } else if (portalIndex == -3) {
+            // Overworld Spawn portal
+            teleportToOverworldSpawn(player);
+        } else {
+            // Player warp portal
+            List<WarpPoint> warps = getWarps(player);
+            if (portalIndex >= 0 && portalIndex < warps.size()) {
+                teleportToWarpPoint(player, warps.get(portalIndex));
             }
         }
     }
@@ -185,37 +284,51 @@ public class WarpManager {
             .resolve("world")
             .resolve("aio_data")
             .resolve("warps");
+        HUB_DATA_FILE = DATA_DIR.getParent().resolve("warp_hub.dat");
         try {
             Files.createDirectories(DATA_DIR);
             loadAllWarps();
+            loadHubData();
         } catch (IOException e) {
             AioMod.LOGGER.error("Failed to create warp data directory", e);
         }
     }
     
-    public static void onServerStop() {
+    public static void onServerStop(MinecraftServer server) {
         saveAllWarps();
+        
+        // Plot tickets are forced tickets, don't let them outlive the session
+        ServerLevel warpHub = server.getLevel(WARP_HUB);
+        for (HubPlot plot : PLOTS.values()) {
+            if (plot.ticketed && warpHub != null) {
+                warpHub.getChunkSource().removeTicketWithRadius(TicketType.FORCED, plot.chunk(), PLOT_CHUNK_RADIUS);
+            }
+            plot.ticketed = false;
+        }
+        saveHubData();
     }
     
     /**
-     * Get all warps for a player
+     * Get all warps for a player, in creation order (read-only)
      */
     public static List<WarpPoint> getWarps(ServerPlayer player) {
-        return PLAYER_WARPS.computeIfAbsent(player.getUUID(), uuid -> new ArrayList<>());
+        return getWarpIndex(player).list();
+    }
+    
+    private static WarpIndex getWarpIndex(ServerPlayer player) {
+        return PLAYER_WARPS.computeIfAbsent(player.getUUID(), uuid -> new WarpIndex());
     }
     
     /**
      * Add a new warp point for a player
      */
     public static boolean addWarp(ServerPlayer player, String name) {
-        List<WarpPoint> warps = getWarps(player);
+        WarpIndex warps = getWarpIndex(player);
         
         // Check for duplicate name
-        for (WarpPoint warp : warps) {
-            if (warp.name.equalsIgnoreCase(name)) {
-                player.sendSystemMessage(Component.literal("§cA warp with that name already exists!"));
-                return false;
-            }
+        if (warps.get(name) != null) {
+            player.sendSystemMessage(Component.literal("§cA warp with that name already exists!"));
+            return false;
         }
         
         // Create the warp
@@ -229,7 +342,7 @@ public class WarpManager {
             player.getXRot()
         );
         
-        warps.add(warp);
+        warps.put(warp);
         savePlayerWarps(player.getUUID());
         
         player.sendSystemMessage(Component.literal("§a✦ Warp '" + name + "' created at your location!"));
@@ -240,15 +353,10 @@ public class WarpManager {
      * Remove a warp by name
      */
     public static boolean removeWarp(ServerPlayer player, String name) {
-        List<WarpPoint> warps = getWarps(player);
-        
-        for (int i = 0; i < warps.size(); i++) {
-            if (warps.get(i).name.equalsIgnoreCase(name)) {
-                warps.remove(i);
-                savePlayerWarps(player.getUUID());
-                player.sendSystemMessage(Component.literal("§c✦ Warp '" + name + "' deleted!"));
-                return true;
-            }
+        if (getWarpIndex(player).remove(name) != null) {
+            savePlayerWarps(player.getUUID());
+            player.sendSystemMessage(Component.literal("§c✦ Warp '" + name + "' deleted!"));
+            return true;
         }
         
         player.sendSystemMessage(Component.literal("§cNo warp found with that name!"));
@@ -259,24 +367,19 @@ public class WarpManager {
      * Rename a warp
      */
     public static boolean renameWarp(ServerPlayer player, String oldName, String newName) {
-        List<WarpPoint> warps = getWarps(player);
+        WarpIndex warps = getWarpIndex(player);
         
         // Check if new name already exists
-        for (WarpPoint warp : warps) {
-            if (warp.name.equalsIgnoreCase(newName)) {
-                player.sendSystemMessage(Component.literal("§cA warp with that name already exists!"));
-                return false;
-            }
+        if (warps.get(newName) != null) {
+            player.sendSystemMessage(Component.literal("§cA warp with that name already exists!"));
+            return false;
         }
         
         // Find and rename
-        for (WarpPoint warp : warps) {
-            if (warp.name.equalsIgnoreCase(oldName)) {
-                warp.name = newName;
-                savePlayerWarps(player.getUUID());
-                player.sendSystemMessage(Component.literal("§a✦ Warp renamed to '" + newName + "'!"));
-                return true;
-            }
+        if (warps.rename(oldName, newName)) {
+            savePlayerWarps(player.getUUID());
+            player.sendSystemMessage(Component.literal("§a✦ Warp renamed to '" + newName + "'!"));
+            return true;
         }
         
         player.sendSystemMessage(Component.literal("§cNo warp found with that name!"));
@@ -287,12 +390,9 @@ public class WarpManager {
      * Teleport player directly to a warp by name
      */
     public static boolean teleportToWarp(ServerPlayer player, String name) {
-        List<WarpPoint> warps = getWarps(player);
-        
-        for (WarpPoint warp : warps) {
-            if (warp.name.equalsIgnoreCase(name)) {
-                return teleportToWarpPoint(player, warp);
-            }
+        WarpPoint warp = getWarpIndex(player).get(name);
+        if (warp != null) {
+            return teleportToWarpPoint(player, warp);
         }
         
         player.sendSystemMessage(Component.literal("§cNo warp found with that name!"));
@@ -306,14 +406,8 @@ public class WarpManager {
         MinecraftServer server = ((ServerLevel) player.level()).getServer();
         if (server == null) return false;
         
-        // Find the dimension by iterating through all levels
-        ServerLevel targetWorld = null;
-        for (ServerLevel level : server.getAllLevels()) {
-            if (level.dimension().toString().equals(warp.dimension)) {
-                targetWorld = level;
-                break;
-            }
-        }
+        // Find the dimension by its cached key
+        ServerLevel targetWorld = warp.dimensionKey != null ? server.getLevel(warp.dimensionKey) : null;
         
         if (targetWorld == null) {
             player.sendSystemMessage(Component.literal("§cCannot find dimension: " + warp.dimension));
@@ -350,23 +444,30 @@ public class WarpManager {
         }
         
         // Save current location before teleporting
+        boolean wasInHub = isInWarpHub(player);
         savePreviousLocation(player);
         
-        // Build the platform and portals
-        buildWarpHubPlatform(warpHub, player);
+        // Build the platform and portals on the player's own plot
+        HubPlot plot = claimPlot(warpHub, player);
+        buildWarpHubPlatform(warpHub, player, plot);
         
         // Teleport to center
         player.teleportTo(
             warpHub,
-            0.5,
+            plot.originX + 0.5,
             PLATFORM_Y + 1.0,
-            0.5,
+            plot.originZ + 0.5,
             Set.of(),
             0.0f,
             0.0f,
             false
         );
         
+        // Arriving from another dimension, the world change listener sends the labels
+        if (wasInHub) {
+            sendPadLabels(player, plot);
+        }
+        
         player.sendSystemMessage(Component.literal("§d✦ Welcome to the Warp Hub!"));
         player.sendSystemMessage(Component.literal("§7Step onto a portal pad to teleport."));
         player.sendSystemMessage(Component.literal("§7The §e⟲ Previous Location§7 pad returns you where you came from."));
@@ -375,29 +476,94 @@ public class WarpManager {
     }
     
     /**
-     * Build the warp hub platform and portals for a player
+     * The player's hub plot: the one they still hold, else the lowest free plot, else a new one.
+     * The plot is kept loaded by a chunk ticket while its owner is in the hub.
+     */
+    private static HubPlot claimPlot(ServerLevel warpHub, ServerPlayer player) {
+        HubPlot plot = PLAYER_PLOTS.get(player.getUUID());
+        if (plot == null) {
+            if (FREE_PLOTS.isEmpty()) {
+                plot = new HubPlot(PLOTS.size());
+                PLOTS.put(plot.index, plot);
+            } else {
+                int index = FREE_PLOTS.firstInt();
+                FREE_PLOTS.remove(index);
+                plot = PLOTS.get(index);
+            }
+            plot.owner = player.getUUID();
+            PLAYER_PLOTS.put(plot.owner, plot);
+        }
+        
+        plot.ownerInHub = true;
+        plot.idleSince = System.currentTimeMillis();
+        if (!plot.ticketed) {
+            warpHub.getChunkSource().addTicketWithRadius(TicketType.FORCED, plot.chunk(), PLOT_CHUNK_RADIUS);
+            plot.ticketed = true;
+        }
+        return plot;
+    }
+    
+    /**
+     * Release the tickets of plots nobody stands on, and recycle plots whose owner
+     * left the hub too long ago. Owners who logged out inside the hub keep their plot.
+     */
+    private static void updatePlots(MinecraftServer server) {
+        if (PLAYER_PLOTS.isEmpty()) return;
+        
+        ServerLevel warpHub = server.getLevel(WARP_HUB);
+        if (warpHub == null) return;
+        
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<UUID, HubPlot>> it = PLAYER_PLOTS.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, HubPlot> entry = it.next();
+            HubPlot plot = entry.getValue();
+            
+            ServerPlayer owner = server.getPlayerList().getPlayer(entry.getKey());
+            if (owner != null) {
+                plot.ownerInHub = isInWarpHub(owner);
+                if (plot.ownerInHub) {
+                    plot.idleSince = now;
+                    continue;
+                }
+            }
+            
+            if (plot.ticketed) {
+                warpHub.getChunkSource().removeTicketWithRadius(TicketType.FORCED, plot.chunk(), PLOT_CHUNK_RADIUS);
+                plot.ticketed = false;
+            }
+            
+            if (!plot.ownerInHub && now - plot.idleSince >= PLOT_IDLE_TIMEOUT_MS) {
+                // Pads stay built, the next owner only diffs them
+                plot.owner = null;
+                FREE_PLOTS.add(plot.index);
+                PORTAL_POSITIONS.remove(entry.getKey());
+                SENT_LABELS.remove(entry.getKey());
+                LAST_HUB_POSITIONS.removeLong(entry.getKey());
+                it.remove();
+            }
+        }
+    }
+    
+    /**
+     * Prepare a hub plot for a player: the static platform is only built when its
+     * version is out of date, portal pads are only touched where they differ
      */
-    public static void buildWarpHubPlatform(ServerLevel warpHub, ServerPlayer player) {
+    private static void buildWarpHubPlatform(ServerLevel warpHub, ServerPlayer player, HubPlot plot) {
         List<WarpPoint> warps = getWarps(player);
         UUID uuid = player.getUUID();
         MinecraftServer server = warpHub.getServer();
         
-        // Clear portal positions for this player
-        PORTAL_POSITIONS.put(uuid, new HashMap<>());
-        Map<BlockPos, Integer> portalMap = PORTAL_POSITIONS.get(uuid);
-        
-        // Remove old armor stands in the area
-        AABB clearArea = new AABB(-25, PLATFORM_Y - 5, -25, 25, PLATFORM_Y + 20, 25);
-        List<ArmorStand> oldStands = warpHub.getEntitiesOfClass(ArmorStand.class, clearArea);
-        for (ArmorStand stand : oldStands) {
-            stand.discard();
-        }
+        ensurePlotStructure(warpHub, plot);
         
-        // Build beautiful main platform
-        buildMainPlatform(warpHub);
+        // Clear portal positions for this player
+        Long2IntMap portalMap = new Long2IntOpenHashMap();
+        portalMap.defaultReturnValue(NO_PORTAL);
+        PORTAL_POSITIONS.put(uuid, portalMap);
+        LAST_HUB_POSITIONS.removeLong(uuid);
         
-        // Build decorative structures
-        buildDecorativeStructures(warpHub);
+        // Pad positions relative to the plot's origin
+        Map<BlockPos, PadSpec> pads = new LinkedHashMap<>();
         
         // === AUTO WARPS (Special portals that are always present) ===
         // Index -1 = Previous Location
@@ -410,19 +576,19 @@ public class WarpManager {
         
         // Previous Location (East, Yellow)
         BlockPos prevPos = new BlockPos(6, PLATFORM_Y, 0);
-        buildPortalPad(warpHub, prevPos, "§e⟲ Previous Location", PortalType.PREVIOUS);
-        portalMap.put(prevPos, -1);
+        pads.put(prevPos, new PadSpec(PortalType.PREVIOUS, "§e⟲ Previous Location"));
+        indexPortal(portalMap, prevPos.offset(plot.originX, 0, plot.originZ), -1);
         
         // Home Dimension (West, Green)
         BlockPos homePos = new BlockPos(-6, PLATFORM_Y, 0);
-        buildPortalPad(warpHub, homePos, "§a🏠 Home Dimension", PortalType.HOME);
-        portalMap.put(homePos, -2);
+        pads.put(homePos, new PadSpec(PortalType.HOME, "§a🏠 Home Dimension"));
+        indexPortal(portalMap, homePos.offset(plot.originX, 0, plot.originZ), -2);
         
         // Overworld Spawn (South, Blue) - Gets player's current spawn point
         BlockPos overworldPos = new BlockPos(0, PLATFORM_Y, 6);
         String overworldName = getOverworldSpawnName(player, server);
-        buildPortalPad(warpHub, overworldPos, "§b🌍 " + overworldName, PortalType.OVERWORLD);
-        portalMap.put(overworldPos, -3);
+        pads.put(overworldPos, new PadSpec(PortalType.OVERWORLD, "§b🌍 " + overworldName));
+        indexPortal(portalMap, overworldPos.offset(plot.originX, 0, plot.originZ), -3);
         
         // Player warps in outer ring
         double outerRadius = 10.0;
@@ -438,11 +604,135 @@ public class WarpManager {
             int px = (int) Math.round(outerRadius * Math.cos(angle));
             int pz = (int) Math.round(outerRadius * Math.sin(angle));
             BlockPos warpPos = new BlockPos(px, PLATFORM_Y, pz);
-            buildPortalPad(warpHub, warpPos, "§d✦ " + warp.name, PortalType.PLAYER);
-            portalMap.put(warpPos, i);
+            pads.put(warpPos, new PadSpec(PortalType.PLAYER, "§d✦ " + warp.name));
+            indexPortal(portalMap, warpPos.offset(plot.originX, 0, plot.originZ), i);
+        }
+        
+        updatePortalPads(warpHub, plot, pads);
+        plot.labels = pads;
+    }
+    
+    /**
+     * Index every floor block of a 3x3 portal pad
+     */
+    private static void indexPortal(Long2IntMap portalMap, BlockPos center, int portalIndex) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                portalMap.put(BlockPos.asLong(center.getX() + dx, center.getY(), center.getZ() + dz), portalIndex);
+            }
         }
     }
     
+    /**
+     * Stamp the hub template into a plot, once per structure version
+     */
+    private static void ensurePlotStructure(ServerLevel warpHub, HubPlot plot) {
+        if (plot.builtVersion == HUB_STRUCTURE_VERSION) return;
+        
+        // Remove armor stand name tags left over from older layouts
+        AABB clearArea = new AABB(plot.originX - 25, PLATFORM_Y - 5, plot.originZ - 25, 
+                                  plot.originX + 25, PLATFORM_Y + 20, plot.originZ + 25);
+        List<ArmorStand> oldStands = warpHub.getEntitiesOfClass(ArmorStand.class, clearArea);
+        for (ArmorStand stand : oldStands) {
+            stand.discard();
+        }
+        plot.pads.clear();
+        
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        for (Map.Entry<BlockPos, BlockState> entry : getHubTemplate()) {
+            pos.setWithOffset(entry.getKey(), plot.originX, 0, plot.originZ);
+            if (warpHub.getBlockState(pos) != entry.getValue()) {
+                warpHub.setBlock(pos, entry.getValue(), 2);
+            }
+        }
+        
+        plot.builtVersion = HUB_STRUCTURE_VERSION;
+        saveHubData();
+        AioMod.LOGGER.info("Built warp hub plot " + plot.index + " (version " + HUB_STRUCTURE_VERSION + ")");
+    }
+    
+    private static List<Map.Entry<BlockPos, BlockState>> getHubTemplate() {
+        if (hubTemplate == null) {
+            Map<BlockPos, BlockState> blocks = new LinkedHashMap<>();
+            
+            // Build beautiful main platform
+            buildMainPlatform(blocks);
+            
+            // Build decorative structures
+            buildDecorativeStructures(blocks);
+            
+            hubTemplate = List.copyOf(blocks.entrySet());
+        }
+        return hubTemplate;
+    }
+    
+    /**
+     * Bring a plot's portal pads in line with the wanted set, touching only pads that changed
+     */
+    private static void updatePortalPads(ServerLevel world, HubPlot plot, Map<BlockPos, PadSpec> pads) {
+        boolean changed = false;
+        
+        // Remove pads the visitor doesn't have
+        Iterator<BlockPos> it = plot.pads.keySet().iterator();
+        while (it.hasNext()) {
+            BlockPos center = it.next();
+            if (!pads.containsKey(center)) {
+                clearPortalPad(world, plot, center);
+                it.remove();
+                changed = true;
+            }
+        }
+        
+        for (Map.Entry<BlockPos, PadSpec> entry : pads.entrySet()) {
+            BlockPos center = entry.getKey();
+            BlockPos worldCenter = center.offset(plot.originX, 0, plot.originZ);
+            PadSpec spec = entry.getValue();
+            if (plot.pads.get(center) != spec.type()) {
+                buildPortalPad(world, worldCenter, spec.type());
+                plot.pads.put(center, spec.type());
+                changed = true;
+            }
+        }
+        
+        if (changed) {
+            saveHubData();
+        }
+    }
+    
+    /**
+     * Show the pad names to the player as text displays that only exist on their client
+     */
+    private static void sendPadLabels(ServerPlayer player, HubPlot plot) {
+        Map<BlockPos, PadSpec> pads = plot.labels;
+        IntList previous = SENT_LABELS.remove(player.getUUID());
+        if (previous != null && !previous.isEmpty()) {
+            player.connection.send(new ClientboundRemoveEntitiesPacket(previous.toIntArray()));
+        }
+        
+        ServerLevel world = (ServerLevel) player.level();
+        IntList sent = new IntArrayList(pads.size());
+        for (Map.Entry<BlockPos, PadSpec> entry : pads.entrySet()) {
+            BlockPos center = entry.getKey();
+            double x = plot.originX + center.getX() + 0.5;
+            double y = center.getY() + 2.5;
+            double z = plot.originZ + center.getZ() + 0.5;
+            
+            // Never added to the level, it only allocates an entity id and builds the synced data
+            Display.TextDisplay label = new Display.TextDisplay(EntityType.TEXT_DISPLAY, world);
+            ((TextDisplayAccessor) label).invokeSetText(Component.literal(entry.getValue().label()));
+            ((DisplayAccessor) label).invokeSetBillboardConstraints(Display.BillboardConstraints.CENTER);
+            
+            player.connection.send(new ClientboundAddEntityPacket(label.getId(), label.getUUID(), x, y, z,
+                0.0f, 0.0f, EntityType.TEXT_DISPLAY, 0, Vec3.ZERO, 0.0));
+            List<SynchedEntityData.DataValue<?>> data = label.getEntityData().getNonDefaultValues();
+            if (data != null) {
+                player.connection.send(new ClientboundSetEntityDataPacket(label.getId(), data));
+            }
+            sent.add(label.getId());
+        }
+        SENT_LABELS.put(player.getUUID(), sent);
+    }
+    
     /**
      * Get the name for the Overworld spawn portal
      */
@@ -457,7 +747,7 @@ public class WarpManager {
     /**
      * Build the main platform with beautiful design
      */
-    private static void buildMainPlatform(ServerLevel world) {
+    private static void buildMainPlatform(Map<BlockPos, BlockState> blocks) {
         // Extended platform with gradient design
         int mainRadius = 18;
         
@@ -468,31 +758,12 @@ public class WarpManager {
                 
                 // Clear above
                 for (int y = 1; y <= 15; y++) {
-                    world.setBlock(pos.above(y), Blocks.AIR.defaultBlockState(), 2);
+                    blocks.put(pos.above(y), Blocks.AIR.defaultBlockState());
                 }
                 
                 // Circular platform with gradient
                 if (dist <= mainRadius) {
-                    if (dist <= 3) {
-                        // Center - Crystal design
-                        world.setBlock(pos, Blocks.AMETHYST_BLOCK.defaultBlockState(), 2);
-                    } else if (dist <= 5) {
-                        // Inner ring - Purple
-                        world.setBlock(pos, Blocks.PURPUR_BLOCK.defaultBlockState(), 2);
-                    } else if (dist <= 8) {
-                        // Middle ring - Checkered
-                        if ((Math.abs(x) + Math.abs(z)) % 2 == 0) {
-                            world.setBlock(pos, Blocks.POLISHED_DEEPSLATE.defaultBlockState(), 2);
-                        } else {
-                            world.setBlock(pos, Blocks.DEEPSLATE_TILES.defaultBlockState(), 2);
-                        }
-                    } else if (dist <= 12) {
-                        // Outer area - Darker
-                        world.setBlock(pos, Blocks.DEEPSLATE_BRICKS.defaultBlockState(), 2);
-                    } else {
-                        // Edge - Blackstone
-                        world.setBlock(pos, Blocks.POLISHED_BLACKSTONE_BRICKS.defaultBlockState(), 2);
-                    }
+                    blocks.put(pos, platformBlock(x, z));
                 }
             }
         }
@@ -502,112 +773,137 @@ public class WarpManager {
             double rad = Math.toRadians(i);
             int x = (int) Math.round(mainRadius * Math.cos(rad));
             int z = (int) Math.round(mainRadius * Math.sin(rad));
-            world.setBlock(new BlockPos(x, PLATFORM_Y, z), Blocks.GILDED_BLACKSTONE.defaultBlockState(), 2);
+            blocks.put(new BlockPos(x, PLATFORM_Y, z), Blocks.GILDED_BLACKSTONE.defaultBlockState());
+        }
+    }
+    
+    /**
+     * Floor block of the main platform at the given offset from its center
+     */
+    private static BlockState platformBlock(int x, int z) {
+        double dist = Math.sqrt(x * x + z * z);
+        if (dist <= 3) {
+            // Center - Crystal design
+            return Blocks.AMETHYST_BLOCK.defaultBlockState();
+        } else if (dist <= 5) {
+            // Inner ring - Purple
+            return Blocks.PURPUR_BLOCK.defaultBlockState();
+        } else if (dist <= 8) {
+            // Middle ring - Checkered
+            if ((Math.abs(x) + Math.abs(z)) % 2 == 0) {
+                return Blocks.POLISHED_DEEPSLATE.defaultBlockState();
+            }
+            return Blocks.DEEPSLATE_TILES.defaultBlockState();
+        } else if (dist <= 12) {
+            // Outer area - Darker
+            return Blocks.DEEPSLATE_BRICKS.defaultBlockState();
         }
+        // Edge - Blackstone
+        return Blocks.POLISHED_BLACKSTONE_BRICKS.defaultBlockState();
     }
     
     /**
      * Build decorative structures around the hub
      */
-    private static void buildDecorativeStructures(ServerLevel world) {
+    private static void buildDecorativeStructures(Map<BlockPos, BlockState> blocks) {
         // Center beacon-like structure
-        buildCenterBeacon(world);
+        buildCenterBeacon(blocks);
         
         // Corner pillars with crystals
         int pillarDist = 15;
-        buildCornerPillar(world, new BlockPos(pillarDist, PLATFORM_Y, pillarDist));
-        buildCornerPillar(world, new BlockPos(-pillarDist, PLATFORM_Y, pillarDist));
-        buildCornerPillar(world, new BlockPos(pillarDist, PLATFORM_Y, -pillarDist));
-        buildCornerPillar(world, new BlockPos(-pillarDist, PLATFORM_Y, -pillarDist));
+        buildCornerPillar(blocks, new BlockPos(pillarDist, PLATFORM_Y, pillarDist));
+        buildCornerPillar(blocks, new BlockPos(-pillarDist, PLATFORM_Y, pillarDist));
+        buildCornerPillar(blocks, new BlockPos(pillarDist, PLATFORM_Y, -pillarDist));
+        buildCornerPillar(blocks, new BlockPos(-pillarDist, PLATFORM_Y, -pillarDist));
         
         // Arches between pillars
-        buildArch(world, pillarDist, 0); // East
-        buildArch(world, -pillarDist, 0); // West
-        buildArch(world, 0, pillarDist); // South
-        buildArch(world, 0, -pillarDist); // North
+        buildArch(blocks, pillarDist, 0); // East
+        buildArch(blocks, -pillarDist, 0); // West
+        buildArch(blocks, 0, pillarDist); // South
+        buildArch(blocks, 0, -pillarDist); // North
         
         // Floating crystal rings
-        buildFloatingRing(world, 10, PLATFORM_Y + 8);
-        buildFloatingRing(world, 6, PLATFORM_Y + 12);
+        buildFloatingRing(blocks, 10, PLATFORM_Y + 8);
+        buildFloatingRing(blocks, 6, PLATFORM_Y + 12);
     }
     
     /**
      * Build the center beacon structure
      */
-    private static void buildCenterBeacon(ServerLevel world) {
+    private static void buildCenterBeacon(Map<BlockPos, BlockState> blocks) {
         // Base
         for (int x = -1; x <= 1; x++) {
             for (int z = -1; z <= 1; z++) {
-                world.setBlock(new BlockPos(x, PLATFORM_Y + 1, z), Blocks.QUARTZ_BLOCK.defaultBlockState(), 2);
+                blocks.put(new BlockPos(x, PLATFORM_Y + 1, z), Blocks.QUARTZ_BLOCK.defaultBlockState());
             }
         }
         
         // Pillar
         for (int y = 2; y <= 5; y++) {
-            world.setBlock(new BlockPos(0, PLATFORM_Y + y, 0), Blocks.QUARTZ_PILLAR.defaultBlockState(), 2);
+            blocks.put(new BlockPos(0, PLATFORM_Y + y, 0), Blocks.QUARTZ_PILLAR.defaultBlockState());
         }
         
         // Top
-        world.setBlock(new BlockPos(0, PLATFORM_Y + 6, 0), Blocks.END_ROD.defaultBlockState(), 2);
-        world.setBlock(new BlockPos(0, PLATFORM_Y + 7, 0), Blocks.BEACON.defaultBlockState(), 2);
+        blocks.put(new BlockPos(0, PLATFORM_Y + 6, 0), Blocks.END_ROD.defaultBlockState());
+        blocks.put(new BlockPos(0, PLATFORM_Y + 7, 0), Blocks.BEACON.defaultBlockState());
         
         // Surrounding end rods
-        world.setBlock(new BlockPos(1, PLATFORM_Y + 3, 0), Blocks.END_ROD.defaultBlockState(), 2);
-        world.setBlock(new BlockPos(-1, PLATFORM_Y + 3, 0), Blocks.END_ROD.defaultBlockState(), 2);
-        world.setBlock(new BlockPos(0, PLATFORM_Y + 3, 1), Blocks.END_ROD.defaultBlockState(), 2);
-        world.setBlock(new BlockPos(0, PLATFORM_Y + 3, -1), Blocks.END_ROD.defaultBlockState(), 2);
+        blocks.put(new BlockPos(1, PLATFORM_Y + 3, 0), Blocks.END_ROD.defaultBlockState());
+        blocks.put(new BlockPos(-1, PLATFORM_Y + 3, 0), Blocks.END_ROD.defaultBlockState());
+        blocks.put(new BlockPos(0, PLATFORM_Y + 3, 1), Blocks.END_ROD.defaultBlockState());
+        blocks.put(new BlockPos(0, PLATFORM_Y + 3, -1), Blocks.END_ROD.defaultBlockState());
     }
     
     /**
      * Build a corner pillar with crystal top
      */
-    private static void buildCornerPillar(ServerLevel world, BlockPos base) {
+    private static void buildCornerPillar(Map<BlockPos, BlockState> blocks, BlockPos base) {
         // Base
         for (int x = -1; x <= 1; x++) {
             for (int z = -1; z <= 1; z++) {
-                world.setBlock(base.offset(x, 0, z), Blocks.CHISELED_POLISHED_BLACKSTONE.defaultBlockState(), 2);
+                blocks.put(base.offset(x, 0, z), Blocks.CHISELED_POLISHED_BLACKSTONE.defaultBlockState());
             }
         }
         
         // Pillar
         for (int y = 1; y <= 6; y++) {
-            world.setBlock(base.above(y), Blocks.POLISHED_BLACKSTONE_BRICKS.defaultBlockState(), 2);
+            blocks.put(base.above(y), Blocks.POLISHED_BLACKSTONE_BRICKS.defaultBlockState());
         }
         
         // Crystal top
-        world.setBlock(base.above(7), Blocks.AMETHYST_BLOCK.defaultBlockState(), 2);
-        world.setBlock(base.above(8), Blocks.AMETHYST_CLUSTER.defaultBlockState(), 2);
+        blocks.put(base.above(7), Blocks.AMETHYST_BLOCK.defaultBlockState());
+        blocks.put(base.above(8), Blocks.AMETHYST_CLUSTER.defaultBlockState());
         
         // Lanterns
-        world.setBlock(base.offset(1, 4, 0), Blocks.SOUL_LANTERN.defaultBlockState(), 2);
-        world.setBlock(base.offset(-1, 4, 0), Blocks.SOUL_LANTERN.defaultBlockState(), 2);
-        world.setBlock(base.offset(0, 4, 1), Blocks.SOUL_LANTERN.defaultBlockState(), 2);
-        world.setBlock(base.offset(0, 4, -1), Blocks.SOUL_LANTERN.defaultBlockState(), 2);
+        blocks.put(base.offset(1, 4, 0), Blocks.SOUL_LANTERN.defaultBlockState());
+        blocks.put(base.offset(-1, 4, 0), Blocks.SOUL_LANTERN.defaultBlockState());
+        blocks.put(base.offset(0, 4, 1), Blocks.SOUL_LANTERN.defaultBlockState());
+        blocks.put(base.offset(0, 4, -1), Blocks.SOUL_LANTERN.defaultBlockState());
     }
     
     /**
      * Build an arch structure
      */
-    private static void buildArch(ServerLevel world, int x, int z) {
+    private static void buildArch(Map<BlockPos, BlockState> blocks, int x, int z) {
         // Arch pillars
         for (int y = 1; y <= 5; y++) {
             if (x != 0) {
-                world.setBlock(new BlockPos(x, PLATFORM_Y + y, z - 2), Blocks.POLISHED_BLACKSTONE.defaultBlockState(), 2);
-                world.setBlock(new BlockPos(x, PLATFORM_Y + y, z + 2), Blocks.POLISHED_BLACKSTONE.defaultBlockState(), 2);
+                blocks.put(new BlockPos(x, PLATFORM_Y + y, z - 2), Blocks.POLISHED_BLACKSTONE.defaultBlockState());
+                blocks.put(new BlockPos(x, PLATFORM_Y + y, z + 2), Blocks.POLISHED_BLACKSTONE.defaultBlockState());
             } else {
-                world.setBlock(new BlockPos(x - 2, PLATFORM_Y + y, z), Blocks.POLISHED_BLACKSTONE.defaultBlockState(), 2);
-                world.setBlock(new BlockPos(x + 2, PLATFORM_Y + y, z), Blocks.POLISHED_BLACKSTONE.defaultBlockState(), 2);
+                blocks.put(new BlockPos(x - 2, PLATFORM_Y + y, z), Blocks.POLISHED_BLACKSTONE.defaultBlockState());
+                blocks.put(new BlockPos(x + 2, PLATFORM_Y + y, z), Blocks.POLISHED_BLACKSTONE.defaultBlockState());
             }
         }
         
         // Arch top
         if (x != 0) {
             for (int dz = -2; dz <= 2; dz++) {
-                world.setBlock(new BlockPos(x, PLATFORM_Y + 6, z + dz), Blocks.POLISHED_BLACKSTONE_BRICKS.defaultBlockState(), 2);
+                blocks.put(new BlockPos(x, PLATFORM_Y + 6, z + dz), Blocks.POLISHED_BLACKSTONE_BRICKS.defaultBlockState());
             }
         } else {
             for (int dx = -2; dx <= 2; dx++) {
-                world.setBlock(new BlockPos(x + dx, PLATFORM_Y + 6, z), Blocks.POLISHED_BLACKSTONE_BRICKS.defaultBlockState(), 2);
+                blocks.put(new BlockPos(x + dx, PLATFORM_Y + 6, z), Blocks.POLISHED_BLACKSTONE_BRICKS.defaultBlockState());
             }
         }
     }
@@ -615,12 +911,12 @@ public class WarpManager {
     /**
      * Build a floating ring of crystals
      */
-    private static void buildFloatingRing(ServerLevel world, int radius, int y) {
+    private static void buildFloatingRing(Map<BlockPos, BlockState> blocks, int radius, int y) {
         for (int i = 0; i < 12; i++) {
             double angle = Math.toRadians(i * 30);
             int x = (int) Math.round(radius * Math.cos(angle));
             int z = (int) Math.round(radius * Math.sin(angle));
-            world.setBlock(new BlockPos(x, y, z), Blocks.END_ROD.defaultBlockState(), 2);
+            blocks.put(new BlockPos(x, y, z), Blocks.END_ROD.defaultBlockState());
         }
     }
     
@@ -629,13 +925,16 @@ public class WarpManager {
         PREVIOUS, HOME, OVERWORLD, PLAYER
     }
     
+    // What a hub visitor should see at a pad position
+    private record PadSpec(PortalType type, String label) {}
+    
     /**
-     * Build a portal pad at floor level with floating name
+     * Build a portal pad at floor level
      */
-    private static void buildPortalPad(ServerLevel world, BlockPos center, String name, PortalType type) {
+    private static void buildPortalPad(ServerLevel world, BlockPos center, PortalType type) {
         // Get blocks based on portal type
-        net.minecraft.world.level.block.state.BlockState centerBlock;
-        net.minecraft.world.level.block.state.BlockState surroundBlock;
+        BlockState centerBlock;
+        BlockState surroundBlock;
         
         switch (type) {
             case PREVIOUS:
@@ -674,16 +973,23 @@ public class WarpManager {
         world.setBlock(center.offset(1, 1, -1), Blocks.END_ROD.defaultBlockState(), 2);
         world.setBlock(center.offset(-1, 1, 1), Blocks.END_ROD.defaultBlockState(), 2);
         world.setBlock(center.offset(1, 1, 1), Blocks.END_ROD.defaultBlockState(), 2);
+    }
+    
+    /**
+     * Put the platform back where a portal pad stood, center is relative to the plot
+     */
+    private static void clearPortalPad(ServerLevel world, HubPlot plot, BlockPos relativeCenter) {
+        BlockPos center = relativeCenter.offset(plot.originX, 0, plot.originZ);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                world.setBlock(center.offset(dx, 0, dz), platformBlock(relativeCenter.getX() + dx, relativeCenter.getZ() + dz), 2);
+            }
+        }
         
-        // Spawn armor stand with name floating above
-        ArmorStand nameTag = new ArmorStand(EntityType.ARMOR_STAND, world);
-        nameTag.setPos(center.getX() + 0.5, center.getY() + 2.5, center.getZ() + 0.5);
-        nameTag.setCustomName(Component.literal(name));
-        nameTag.setCustomNameVisible(true);
-        nameTag.setInvisible(true);
-        nameTag.setNoGravity(true);
-        nameTag.setInvulnerable(true);
-        world.addFreshEntity(nameTag);
+        world.setBlock(center.offset(-1, 1, -1), Blocks.AIR.defaultBlockState(), 2);
+        world.setBlock(center.offset(1, 1, -1), Blocks.AIR.defaultBlockState(), 2);
+        world.setBlock(center.offset(-1, 1, 1), Blocks.AIR.defaultBlockState(), 2);
+        world.setBlock(center.offset(1, 1, 1), Blocks.AIR.defaultBlockState(), 2);
     }
     
     /**
@@ -717,14 +1023,8 @@ public class WarpManager {
         MinecraftServer server = ((ServerLevel) player.level()).getServer();
         if (server == null) return false;
         
-        // Find the dimension by iterating through all levels
-        ServerLevel targetWorld = null;
-        for (ServerLevel level : server.getAllLevels()) {
-            if (level.dimension().toString().equals(prev.dimension)) {
-                targetWorld = level;
-                break;
-            }
-        }
+        // Find the dimension by its cached key
+        ServerLevel targetWorld = prev.dimensionKey != null ? server.getLevel(prev.dimensionKey) : null;
         
         if (targetWorld == null) {
             player.sendSystemMessage(Component.literal("§cCannot find dimension: " + prev.dimension));
@@ -759,14 +1059,14 @@ public class WarpManager {
     private static void savePlayerWarps(UUID uuid) {
         if (DATA_DIR == null) return;
         
-        List<WarpPoint> warps = PLAYER_WARPS.get(uuid);
+        WarpIndex warps = PLAYER_WARPS.get(uuid);
         if (warps == null) return;
         
         Path file = DATA_DIR.resolve(uuid + ".dat");
         CompoundTag root = new CompoundTag();
         ListTag warpList = new ListTag();
         
-        for (WarpPoint warp : warps) {
+        for (WarpPoint warp : warps.list()) {
             CompoundTag warpTag = new CompoundTag();
             warpTag.putString("Name", warp.name);
             warpTag.putString("Dimension", warp.dimension);
@@ -796,7 +1096,7 @@ public class WarpManager {
         try {
             CompoundTag root = NbtIo.readCompressed(file, NbtAccounter.unlimitedHeap());
             ListTag warpList = root.getListOrEmpty("Warps");
-            List<WarpPoint> warps = new ArrayList<>();
+            WarpIndex warps = new WarpIndex();
             
             for (int i = 0; i < warpList.size(); i++) {
                 CompoundTag warpTag = warpList.getCompoundOrEmpty(i);
@@ -809,7 +1109,7 @@ public class WarpManager {
                     warpTag.getFloatOr("Yaw", 0),
                     warpTag.getFloatOr("Pitch", 0)
                 );
-                warps.add(warp);
+                warps.put(warp);
             }
             
             PLAYER_WARPS.put(uuid, warps);
@@ -848,17 +1148,203 @@ public class WarpManager {
         }
     }
     
+    private static void saveHubData() {
+        if (HUB_DATA_FILE == null) return;
+        
+        CompoundTag root = new CompoundTag();
+        ListTag plotList = new ListTag();
+        for (HubPlot plot : PLOTS.values()) {
+            CompoundTag plotTag = new CompoundTag();
+            plotTag.putInt("Index", plot.index);
+            plotTag.putInt("Version", plot.builtVersion);
+            if (plot.owner != null) {
+                plotTag.putString("Owner", plot.owner.toString());
+                plotTag.putBoolean("OwnerInHub", plot.ownerInHub);
+            }
+            
+            ListTag padList = new ListTag();
+            for (Map.Entry<BlockPos, PortalType> entry : plot.pads.entrySet()) {
+                CompoundTag padTag = new CompoundTag();
+                padTag.putInt("X", entry.getKey().getX());
+                padTag.putInt("Z", entry.getKey().getZ());
+                padTag.putString("Type", entry.getValue().name());
+                padList.add(padTag);
+            }
+            plotTag.put("Pads", padList);
+            plotList.add(plotTag);
+        }
+        root.put("Plots", plotList);
+        
+        try {
+            NbtIo.writeCompressed(root, HUB_DATA_FILE);
+        } catch (IOException e) {
+            AioMod.LOGGER.error("Failed to save warp hub data", e);
+        }
+    }
+    
+    private static void loadHubData() {
+        PLOTS.clear();
+        PLAYER_PLOTS.clear();
+        FREE_PLOTS.clear();
+        if (HUB_DATA_FILE == null || !Files.exists(HUB_DATA_FILE)) return;
+        
+        try {
+            CompoundTag root = NbtIo.readCompressed(HUB_DATA_FILE, NbtAccounter.unlimitedHeap());
+            ListTag plotList = root.getListOrEmpty("Plots");
+            for (int i = 0; i < plotList.size(); i++) {
+                CompoundTag plotTag = plotList.getCompoundOrEmpty(i);
+                HubPlot plot = new HubPlot(plotTag.getIntOr("Index", i));
+                plot.builtVersion = plotTag.getIntOr("Version", 0);
+                
+                // Owners keep their plot across restarts, the idle timeout starts over
+                String owner = plotTag.getStringOr("Owner", "");
+                if (!owner.isEmpty()) {
+                    try {
+                        plot.owner = UUID.fromString(owner);
+                        plot.ownerInHub = plotTag.getBooleanOr("OwnerInHub", false);
+                        plot.idleSince = System.currentTimeMillis();
+                    } catch (IllegalArgumentException e) {
+                        plot.owner = null;
+                    }
+                }
+                
+                ListTag padList = plotTag.getListOrEmpty("Pads");
+                for (int j = 0; j < padList.size(); j++) {
+                    CompoundTag padTag = padList.getCompoundOrEmpty(j);
+                    try {
+                        plot.pads.put(
+                            new BlockPos(padTag.getIntOr("X", 0), PLATFORM_Y, padTag.getIntOr("Z", 0)),
+                            PortalType.valueOf(padTag.getStringOr("Type", "PLAYER"))
+                        );
+                    } catch (IllegalArgumentException e) {
+                        // Unreadable pad, it gets rebuilt on the next visit
+                    }
+                }
+                PLOTS.put(plot.index, plot);
+            }
+        } catch (IOException e) {
+            AioMod.LOGGER.error("Failed to load warp hub data", e);
+        }
+        
+        // Fill any gaps so indices stay dense, unowned plots are free
+        for (int index = 0; index < PLOTS.size(); index++) {
+            HubPlot plot = PLOTS.get(index);
+            if (plot == null) {
+                plot = new HubPlot(index);
+                PLOTS.put(index, plot);
+            }
+            
+            if (plot.owner != null) {
+                PLAYER_PLOTS.put(plot.owner, plot);
+            } else {
+                FREE_PLOTS.add(index);
+            }
+        }
+    }
+    
+    /**
+     * Key of a dimension saved as text. Accepts a plain id as well as the
+     * ResourceKey toString() form warps have always been saved with.
+     */
+    private static ResourceKey<Level> parseDimension(String dimension) {
+        String id = dimension;
+        int separator = id.indexOf(" / ");
+        if (id.startsWith("ResourceKey[") && separator >= 0 && id.endsWith("]")) {
+            id = id.substring(separator + 3, id.length() - 1);
+        }
+        Identifier location = Identifier.tryParse(id);
+        return location != null ? ResourceKey.create(Registries.DIMENSION, location) : null;
+    }
+    
     // ============= DATA CLASSES =============
     
+    /**
+     * A player's warps by case-folded name, kept in creation order
+     */
+    private static class WarpIndex {
+        private final Map<String, WarpPoint> byName = new LinkedHashMap<>();
+        private List<WarpPoint> list; // Ordered snapshot, rebuilt after changes
+        
+        private static String key(String name) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        
+        WarpPoint get(String name) {
+            return byName.get(key(name));
+        }
+        
+        void put(WarpPoint warp) {
+            byName.put(key(warp.name), warp);
+            list = null;
+        }
+        
+        WarpPoint remove(String name) {
+            WarpPoint removed = byName.remove(key(name));
+            if (removed != null) list = null;
+            return removed;
+        }
+        
+        /**
+         * Rename in place, the warp keeps its position in the order
+         */
+        boolean rename(String oldName, String newName) {
+            WarpPoint warp = get(oldName);
+            if (warp == null) return false;
+            
+            List<WarpPoint> warps = list();
+            byName.clear();
+            warp.name = newName;
+            for (WarpPoint other : warps) {
+                byName.put(key(other.name), other);
+            }
+            list = null;
+            return true;
+        }
+        
+        List<WarpPoint> list() {
+            if (list == null) {
+                list = List.copyOf(byName.values());
+            }
+            return list;
+        }
+    }
+    
+    /**
+     * One instance of the hub, on a grid in the hub dimension
+     */
+    private static class HubPlot {
+        final int index;
+        final int originX, originZ;
+        int builtVersion;
+        final Map<BlockPos, PortalType> pads = new HashMap<>(); // Relative floor center -> pad built there
+        Map<BlockPos, PadSpec> labels = Map.of(); // Owner's pads as last laid out, relative to the origin
+        UUID owner;
+        boolean ownerInHub; // Last known, also kept while the owner is offline
+        long idleSince;
+        boolean ticketed;
+        
+        HubPlot(int index) {
+            this.index = index;
+            this.originX = (index % PLOTS_PER_ROW) * PLOT_SPACING;
+            this.originZ = (index / PLOTS_PER_ROW) * PLOT_SPACING;
+        }
+        
+        ChunkPos chunk() {
+            return new ChunkPos(originX >> 4, originZ >> 4);
+        }
+    }
+    
     public static class WarpPoint {
         public String name;
-        public String dimension;
+        public final String dimension;
+        public final ResourceKey<Level> dimensionKey; // Resolved once, null if the text can't be parsed
         public double x, y, z;
         public float yaw, pitch;
         
         public WarpPoint(String name, String dimension, double x, double y, double z, float yaw, float pitch) {
             this.name = name;
             this.dimension = dimension;
+            this.dimensionKey = parseDimension(dimension);
             this.x = x;
             this.y = y;
             this.z = z;
@@ -868,12 +1354,14 @@ public class WarpManager {
     }
     
     public static class PreviousLocation {
-        public String dimension;
+        public final String dimension;
+        public final ResourceKey<Level> dimensionKey; // Resolved once, null if the text can't be parsed
         public double x, y, z;
         public float yaw, pitch;
         
         public PreviousLocation(String dimension, double x, double y, double z, float yaw, float pitch) {
             this.dimension = dimension;
+            this.dimensionKey = parseDimension(dimension);
             this.x = x;
             this.y = y;
             this.z = z;